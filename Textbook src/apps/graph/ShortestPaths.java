@@ -1,8 +1,9 @@
 package apps.graph;
 
 import structures.graph.DirGraph;
-import structures.linear.List;
 import structures.linear.Stack;
+import structures.tree.HeapHandle;
+import structures.tree.IndexedHeap;
 import java.io.PrintWriter;
 
 /**
@@ -11,9 +12,10 @@ import java.io.PrintWriter;
  * with any source vertex. After the algorithm terminates on a specified source,
  * the shortest distance/path can be queried for any destination vertex.
  * 
- * This is a reference implementation that uses a simple list to store fringe
- * vertices. A more efficient implementation should use an updatable heap for the fringe,
- * i.e. a heap that supports insert, delete, and update operations in O(log n) time.
+ * The fringe vertices are kept in an updatable heap (IndexedHeap), ordered so that
+ * the vertex with the smallest distance is at the top. When the distance of a fringe
+ * vertex goes down, its heap handle is used to move it up in place, so every
+ * vertex is in the heap at most once, and the algorithm runs in O((V+E) log V) time.
  * 
  * @author Sesh Venugopal
  *
@@ -42,9 +44,43 @@ public class ShortestPaths<T> {
 	int destNum;
 	
 	/**
-	 * The simple list that stores the fringe vertices.
+	 * A vertex in the fringe. Fringe vertices compare by their current distances,
+	 * smaller distance being higher priority.
 	 */
-	List<WeightedNeighbor> fringe;
+	class FringeVertex implements Comparable<FringeVertex> {
+		
+		/**
+		 * Vertex number.
+		 */
+		int vertexNumber;
+		
+		/**
+		 * Initializes a fringe vertex with given vertex number.
+		 * 
+		 * @param vertexNumber Vertex number.
+		 */
+		FringeVertex(int vertexNumber) {
+			this.vertexNumber = vertexNumber;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(FringeVertex other) {
+			return Integer.compare(Distance[other.vertexNumber], Distance[vertexNumber]);
+		}
+	}
+	
+	/**
+	 * The heap that stores the fringe vertices.
+	 */
+	IndexedHeap<FringeVertex> fringe;
+	
+	/**
+	 * The heap handles of the fringe vertices, null for vertices that are not in 
+	 * the fringe.
+	 */
+	HeapHandle<FringeVertex>[] handles;
 	
 	/**
 	 * The current distances of all vertices from the source vertex. 
@@ -66,12 +102,14 @@ public class ShortestPaths<T> {
 	 * 
 	 * @param G The target weighted directed graph.
 	 */
+	@SuppressWarnings({"unchecked","rawtypes"})
 	public void init(DirGraph<T> G) {
 		this.G = G;
 		numverts = G.numberOfVertices();
 		
 		// create all data structures
-		fringe = new List<WeightedNeighbor>();
+		fringe = new IndexedHeap<FringeVertex>(numverts);
+		handles = new HeapHandle[numverts];
 		Distance = new int[numverts];
 		Previous = new int[numverts];
 		Done = new boolean[numverts];
@@ -90,6 +128,7 @@ public class ShortestPaths<T> {
 			Done[i] = false;
 			Distance[i] = Integer.MAX_VALUE;
 			Previous[i] = i;
+			handles[i] = null;
 		}
 		fringe.clear();
 		
@@ -99,35 +138,44 @@ public class ShortestPaths<T> {
 		
 		WeightedNeighbor nbr = (WeightedNeighbor)G.firstNeighbor(sourceNum);
 		while (nbr != null) {
-			int w = nbr.vertexNumber;
-			Distance[w] = nbr.weight;
-			Previous[w] = sourceNum;
-			fringe.add(nbr);
+			relax(sourceNum, nbr);
 			nbr = (WeightedNeighbor)G.nextNeighbor(sourceNum);
 		}
 	}
 	
+	/**
+	 * Updates the distance of a neighbor of a given vertex, if the path through
+	 * the vertex is shorter. A neighbor that was not yet seen is added to the fringe,
+	 * and a neighbor that is already in the fringe is moved up in the heap.
+	 * 
+	 * @param v Vertex number.
+	 * @param nbr Neighbor of the vertex.
+	 */
+	void relax(int v, WeightedNeighbor nbr) {
+		int w = nbr.vertexNumber;
+		if (Done[w]) {
+			return;
+		}
+		int dist = Distance[v] + nbr.weight;
+		if (Distance[w] == Integer.MAX_VALUE) {
+			Distance[w] = dist;
+			Previous[w] = v;
+			handles[w] = fringe.add(new FringeVertex(w));
+		} else if (Distance[w] > dist) {
+			Distance[w] = dist;
+			Previous[w] = v;
+			fringe.increaseKey(handles[w], handles[w].getData());
+		}
+	}
+	
 	/**
 	 * Deletes the minimum distance vertex from the fringe.
 	 * 
 	 * @return The minimum-distance vertex number.
 	 */
 	int fringeDeleteMin() {
-		int minWeight = Integer.MAX_VALUE;
-		int minVertex = -1;
-		WeightedNeighbor minnbr=null;
-		
-		WeightedNeighbor nbr = (WeightedNeighbor)fringe.first();
-		while (nbr != null) {
-			int w = nbr.vertexNumber;
-			if (Distance[w] < minWeight) {
-				minWeight = Distance[w];
-				minVertex = w;
-				minnbr = nbr;
-			}
-			nbr = (WeightedNeighbor)fringe.next();
-		}
-		fringe.remove(minnbr);
+		int minVertex = fringe.deleteMax().vertexNumber;
+		handles[minVertex] = null;
 		return minVertex;
 	}
 	
@@ -155,15 +203,7 @@ public class ShortestPaths<T> {
 			
 			WeightedNeighbor nbr = (WeightedNeighbor)G.firstNeighbor(minVertex);
 			while (nbr != null) {
-				int w = nbr.vertexNumber;
-				if (Distance[w] == Integer.MAX_VALUE) {
-					Distance[w] = Distance[minVertex] + nbr.weight;
-					Previous[w] = minVertex;
-					fringe.add(nbr);
-				} else if (Distance[w] > (Distance[minVertex] + nbr.weight)) {
-					Distance[w] = Distance[minVertex] + nbr.weight;
-					Previous[w] = minVertex;
-				}
+				relax(minVertex, nbr);
 				nbr = (WeightedNeighbor)G.nextNeighbor(minVertex);
 			}
 			step++;
@@ -2,7 +2,7 @@ package apps.linear.postfix;
 
 import java.util.NoSuchElementException;
 import java.io.PrintWriter;
-import structures.linear.Stack;
+import structures.linear.FloatStack;
 
 /**
  * This class implements a stack that is used to evaluate an expression, and stores
@@ -20,14 +20,15 @@ class StackKeeper {
 	
 	/**
 	 * The evaluation stack that keeps operands and results of evaluating sub-expressions.
+	 * Operands are kept as primitive floats, so they are not boxed.
 	 */
-	Stack<Float> evalStack;
+	FloatStack evalStack;
 	
 	/**
 	 * Initializes a new instance by creating an empty evaluation stack of floating point numbers. 
 	 */
 	StackKeeper() {
-		evalStack = new Stack<Float>();
+		evalStack = new FloatStack();
 	}
 	
 	/**
@@ -48,7 +49,7 @@ class StackKeeper {
 		if (isOperator(token)) {
 			evaluate(token.charAt(0));
 		} else {
-			evalStack.push(Float.valueOf(token));
+			evalStack.push(Float.parseFloat(token));
 		}
 	}
 	
@@ -62,8 +63,8 @@ class StackKeeper {
 	 */
 	private void evaluate(char op) {
 		
-		Float topval = evalStack.pop();
-		Float nextval = evalStack.pop();
+		float topval = evalStack.pop();
+		float nextval = evalStack.pop();
 		
 		float tempval=0;
 		switch (op) {
@@ -113,17 +114,9 @@ class StackKeeper {
 		pw.println("             ------------>");
 		pw.print("     Stack :");
 		
-		Stack<Float> tempStack = new Stack<Float>();
-		Float obj = evalStack.first();
-		while (obj != null) {
-			tempStack.push(obj);
-			obj = evalStack.next();
-		}
-		
-		obj = tempStack.first();
-		while (obj != null) {
-			pw.print(String.format(" | %.2f", obj));
-			obj = tempStack.next();
+		// print from the bottom of the stack up to the top
+		for (int i=evalStack.size()-1; i >= 0; i--) {
+			pw.print(String.format(" | %.2f", evalStack.get(i)));
 		}
 		pw.println();
 		pw.println("             ------------>");
@@ -136,11 +129,7 @@ class StackKeeper {
 	 * @throws NoSuchElementException If the stack is empty.
 	 */
 	float getTop() {
-		Float top = evalStack.first();
-		if (top == null) {
-			throw new NoSuchElementException();
-		}
-		return top;
+		return evalStack.top();
 	}
 	
 	/**
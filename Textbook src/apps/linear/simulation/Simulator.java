@@ -1,6 +1,6 @@
 package apps.linear.simulation;
 
-import structures.linear.Queue;
+import structures.linear.IntQueue;
 import java.io.PrintWriter;
 
 /**
@@ -27,9 +27,9 @@ public class Simulator {
 	
 	/**
 	 * Queue of students, in which each student is labeled with the time of the student's arrival.
-	 * The queue is maintained in a generic Queue instantiated with the Integer type.
+	 * The queue is maintained in an IntQueue, so arrivals are not boxed.
 	 */
-	Queue<Integer> studentQ;
+	IntQueue studentQ;
 	
 	/**
 	 * The clock that keeps total simulation time.
@@ -84,7 +84,7 @@ public class Simulator {
 	 */
 	public Simulator() {
 		// create new registration queue object
-		studentQ = new Queue<Integer>();
+		studentQ = new IntQueue();
 	}
 	
 	/**
@@ -199,11 +199,9 @@ public class Simulator {
 		}
 		
 		// students waiting in line
-		Integer arrivalTime = studentQ.first();
-		while (arrivalTime != null) {
-			int printTime = arrivalTime + 1;
+		for (int i=0; i < studentQ.size(); i++) {
+			int printTime = studentQ.get(i) + 1;
 			pw.print("  |   " + printTime + "  |   ");
-			arrivalTime = studentQ.next();
 		}
 		pw.println();
 		
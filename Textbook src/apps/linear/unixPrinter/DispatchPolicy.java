@@ -0,0 +1,456 @@
+package apps.linear.unixPrinter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import structures.linear.ArrayQueue;
+import structures.linear.DLLNode;
+import structures.linear.DoublyLinkedList;
+import structures.tree.HeapHandle;
+import structures.tree.IndexedHeap;
+
+/**
+ * This class is the base of the policies that decide which job in a printer queue
+ * is sent to the printer next. A policy is told about every job that is queued, every
+ * job that is dispatched, and every job that leaves the printer queue, whether it was
+ * dispatched or removed with lprm. Policies are made with the static factory methods.
+ */
+public abstract class DispatchPolicy {
+	
+	/**
+	 * Returns a policy that dispatches jobs in the order in which they were queued.
+	 * 
+	 * @return First-in first-out policy.
+	 */
+	public static DispatchPolicy fifo() {
+		return new FifoPolicy();
+	}
+	
+	/**
+	 * Returns a policy that dispatches the job with the smallest file size first, and
+	 * jobs of the same size in the order in which they were queued.
+	 * 
+	 * @return Shortest job first policy.
+	 */
+	public static DispatchPolicy shortestJobFirst() {
+		return new ShortestJobFirstPolicy();
+	}
+	
+	/**
+	 * Returns a policy that shares the printer among job owners in round-robin
+	 * fashion, each owner getting a given quantum of file size per round. Credit that 
+	 * an owner does not use in a round is carried over, so that large files are 
+	 * eventually printed. A job costs its file size, but at least 1, so when all files
+	 * are no larger than the quantum, owners simply take turns, one job each.
+	 * 
+	 * @param quantum File size credited to an owner per round.
+	 * @return Deficit round-robin policy.
+	 * @throws IllegalArgumentException If quantum < 1.
+	 */
+	public static DispatchPolicy roundRobin(long quantum) {
+		if (quantum < 1) {
+			throw new IllegalArgumentException("quantum < 1");
+		}
+		return new RoundRobinPolicy(quantum);
+	}
+	
+	/**
+	 * Tells this policy that a given job has been queued.
+	 * 
+	 * @param q Printer queue.
+	 * @param job Job that was queued.
+	 */
+	abstract void queued(PrintQueue q, Job job);
+	
+	/**
+	 * Returns the job that is to be dispatched next, without removing it.
+	 * 
+	 * @param q Printer queue.
+	 * @return Next job, null if there are no jobs in the printer queue.
+	 */
+	abstract Job peek(PrintQueue q);
+	
+	/**
+	 * Tells this policy that the job returned by the last call to peek( ) has been
+	 * dispatched. The job has not yet been removed from the printer queue.
+	 * 
+	 * @param q Printer queue.
+	 * @param job Job that was dispatched.
+	 */
+	void dispatched(PrintQueue q, Job job) {
+	}
+	
+	/**
+	 * Tells this policy that a given job has been taken out of the printer queue,
+	 * because it was dispatched or removed. The job is no longer in the printer queue's
+	 * own lists.
+	 * 
+	 * @param q Printer queue.
+	 * @param job Job that was taken out.
+	 */
+	void removed(PrintQueue q, Job job) {
+	}
+	
+	/**
+	 * Returns the jobs in the printer queue in the order in which they would be 
+	 * dispatched if no more jobs were queued or removed. This policy is not changed.
+	 * 
+	 * @param q Printer queue.
+	 * @return Jobs in order of dispatch.
+	 */
+	abstract ArrayList<Job> order(PrintQueue q);
+}
+
+/**
+ * This class implements first-in first-out dispatch, which is just the order of jobs
+ * in the printer queue.
+ */
+class FifoPolicy extends DispatchPolicy {
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#queued(apps.linear.unixPrinter.PrintQueue, apps.linear.unixPrinter.Job)
+	 */
+	void queued(PrintQueue q, Job job) {
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#peek(apps.linear.unixPrinter.PrintQueue)
+	 */
+	Job peek(PrintQueue q) {
+		DLLNode<Job> front = q.printQ.firstNode();
+		return front == null ? null : front.getData();
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#order(apps.linear.unixPrinter.PrintQueue)
+	 */
+	ArrayList<Job> order(PrintQueue q) {
+		ArrayList<Job> jobs = new ArrayList<Job>(q.printQ.size());
+		for (Job job : q.printQ) {
+			jobs.add(job);
+		}
+		return jobs;
+	}
+}
+
+/**
+ * This class implements shortest job first dispatch with an indexed heap of jobs keyed
+ * on file size. The heap handle of every job is kept by job id, so a job that leaves
+ * the printer queue is taken out of the heap right away.
+ */
+class ShortestJobFirstPolicy extends DispatchPolicy {
+	
+	/**
+	 * A job in the heap. Since the heap is a max heap, the entry with the smaller
+	 * file size has the higher priority, and the earlier job breaks a tie.
+	 */
+	static class Entry implements Comparable<Entry> {
+		
+		/**
+		 * Job in this entry.
+		 */
+		Job job;
+		
+		/**
+		 * Initializes an entry for a given job.
+		 * 
+		 * @param job Job.
+		 */
+		Entry(Job job) {
+			this.job = job;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(Entry other) {
+			if (job.size != other.job.size) {
+				return job.size < other.job.size ? 1 : -1;
+			}
+			if (job.seq != other.job.seq) {
+				return job.seq < other.job.seq ? 1 : -1;
+			}
+			return 0;
+		}
+	}
+	
+	/**
+	 * Jobs in order of dispatch.
+	 */
+	IndexedHeap<Entry> heap;
+	
+	/**
+	 * Heap handles of the jobs, keyed by job id.
+	 */
+	HashMap<Integer,HeapHandle<Entry>> handles;
+	
+	/**
+	 * Initializes this policy with no jobs.
+	 */
+	ShortestJobFirstPolicy() {
+		heap = new IndexedHeap<Entry>();
+		handles = new HashMap<Integer,HeapHandle<Entry>>();
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#queued(apps.linear.unixPrinter.PrintQueue, apps.linear.unixPrinter.Job)
+	 */
+	void queued(PrintQueue q, Job job) {
+		handles.put(job.id, heap.add(new Entry(job)));
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#peek(apps.linear.unixPrinter.PrintQueue)
+	 */
+	Job peek(PrintQueue q) {
+		return heap.isEmpty() ? null : heap.max().job;
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#removed(apps.linear.unixPrinter.PrintQueue, apps.linear.unixPrinter.Job)
+	 */
+	void removed(PrintQueue q, Job job) {
+		HeapHandle<Entry> handle = handles.remove(job.id);
+		if (handle != null) {
+			heap.remove(handle);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#order(apps.linear.unixPrinter.PrintQueue)
+	 */
+	ArrayList<Job> order(PrintQueue q) {
+		ArrayList<Entry> entries = new ArrayList<Entry>(heap.size());
+		for (Entry e=heap.first(); e != null; e=heap.next()) {
+			entries.add(e);
+		}
+		Collections.sort(entries, Collections.reverseOrder());
+		ArrayList<Job> jobs = new ArrayList<Job>(entries.size());
+		for (Entry e : entries) {
+			jobs.add(e.job);
+		}
+		return jobs;
+	}
+}
+
+/**
+ * This class implements deficit round-robin dispatch over job owners. Owners with jobs
+ * take turns in a circular queue. At the start of its turn an owner is credited with
+ * the quantum; its jobs are then dispatched, oldest first, for as long as the credit
+ * covers them, and the turn passes to the next owner. The jobs of an owner are the 
+ * printer queue's own chain for that owner.
+ */
+class RoundRobinPolicy extends DispatchPolicy {
+	
+	/**
+	 * The round-robin state of an owner.
+	 */
+	static class Turn {
+		
+		/**
+		 * Name of owner.
+		 */
+		String owner;
+		
+		/**
+		 * Unused credit.
+		 */
+		long deficit;
+		
+		/**
+		 * True if the owner has been credited in its current turn.
+		 */
+		boolean credited;
+		
+		/**
+		 * Initializes the state of a given owner.
+		 * 
+		 * @param owner Name of owner.
+		 */
+		Turn(String owner) {
+			this.owner = owner;
+		}
+		
+		/**
+		 * Returns a copy of this state.
+		 * 
+		 * @return Copy.
+		 */
+		Turn copy() {
+			Turn t = new Turn(owner);
+			t.deficit = deficit;
+			t.credited = credited;
+			return t;
+		}
+	}
+	
+	/**
+	 * Credit given to an owner per turn.
+	 */
+	long quantum;
+	
+	/**
+	 * Owners whose turn is due, with the current owner at the front.
+	 */
+	ArrayQueue<Turn> turns;
+	
+	/**
+	 * State of every owner in the turns queue, by owner name.
+	 */
+	HashMap<String,Turn> owners;
+	
+	/**
+	 * Initializes this policy with no jobs.
+	 * 
+	 * @param quantum Credit given to an owner per turn.
+	 */
+	RoundRobinPolicy(long quantum) {
+		this.quantum = quantum;
+		turns = new ArrayQueue<Turn>();
+		owners = new HashMap<String,Turn>();
+	}
+	
+	/**
+	 * Returns the cost of a job, which is its file size but at least 1.
+	 * 
+	 * @param job Job.
+	 * @return Cost of job.
+	 */
+	static long cost(Job job) {
+		return Math.max(job.size, 1);
+	}
+	
+	/**
+	 * Moves round the turns queue until the owner at the front has credit for its
+	 * oldest job, and returns that job. Owners that have no jobs left give up their 
+	 * turn and their credit. Whenever a whole round goes by in which no owner has
+	 * enough credit, the rounds until the first owner will have enough are skipped
+	 * in one step, crediting every owner for all of them, so the time taken does not
+	 * depend on file sizes.
+	 * 
+	 * @param turns Turns queue.
+	 * @param owners Owner states by name, from which owners that give up are removed.
+	 * @param chains Jobs of every owner, oldest first.
+	 * @return Next job, null if there are no jobs.
+	 */
+	Job advance(ArrayQueue<Turn> turns, HashMap<String,Turn> owners, 
+			HashMap<String,? extends Iterable<Job>> chains) {
+		int passed = 0;  // owners that passed on their turn without a job
+		while (!turns.isEmpty()) {
+			if (passed >= turns.size()) {
+				skipRounds(turns, chains);
+				passed = 0;
+			}
+			Turn t = turns.first();
+			Iterable<Job> chain = chains.get(t.owner);
+			Iterator<Job> jobs = chain == null ? null : chain.iterator();
+			if (jobs == null || !jobs.hasNext()) {
+				turns.dequeue();
+				owners.remove(t.owner);
+				continue;
+			}
+			Job job = jobs.next();
+			if (cost(job) <= t.deficit) {
+				return job;
+			}
+			if (t.credited) {
+				// credit used up for this turn, pass it on
+				t.credited = false;
+				turns.enqueue(turns.dequeue());
+				passed++;
+			} else {
+				t.deficit += quantum;
+				t.credited = true;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Credits every owner for the rounds, after a round in which no owner could
+	 * dispatch, that will go by before some owner has enough credit for its oldest 
+	 * job. Owners that have no jobs left are ignored, since they will give up their
+	 * turn when it comes.
+	 * 
+	 * @param turns Turns queue.
+	 * @param chains Jobs of every owner, oldest first.
+	 */
+	void skipRounds(ArrayQueue<Turn> turns, HashMap<String,? extends Iterable<Job>> chains) {
+		long rounds = Long.MAX_VALUE;
+		for (Turn t : turns) {
+			Iterable<Job> chain = chains.get(t.owner);
+			Iterator<Job> jobs = chain == null ? null : chain.iterator();
+			if (jobs == null || !jobs.hasNext()) {
+				continue;
+			}
+			long need = cost(jobs.next()) - t.deficit;
+			rounds = Math.min(rounds, need / quantum + (need % quantum == 0 ? 0 : 1));
+		}
+		// in the last of the rounds some owner dispatches, so it is not skipped
+		if (rounds == Long.MAX_VALUE || rounds <= 1) {
+			return;
+		}
+		long credit = (rounds - 1) * quantum;
+		for (Turn t : turns) {
+			t.deficit += credit;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#queued(apps.linear.unixPrinter.PrintQueue, apps.linear.unixPrinter.Job)
+	 */
+	void queued(PrintQueue q, Job job) {
+		Turn t = owners.get(job.owner);
+		if (t == null) {
+			t = new Turn(job.owner);
+			owners.put(job.owner, t);
+			turns.enqueue(t);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#peek(apps.linear.unixPrinter.PrintQueue)
+	 */
+	Job peek(PrintQueue q) {
+		return advance(turns, owners, q.jobsByOwner);
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#dispatched(apps.linear.unixPrinter.PrintQueue, apps.linear.unixPrinter.Job)
+	 */
+	void dispatched(PrintQueue q, Job job) {
+		turns.first().deficit -= cost(job);
+	}
+	
+	/* (non-Javadoc)
+	 * @see apps.linear.unixPrinter.DispatchPolicy#order(apps.linear.unixPrinter.PrintQueue)
+	 */
+	ArrayList<Job> order(PrintQueue q) {
+		// run the policy on copies of the turns and of the owners' chains
+		ArrayQueue<Turn> simTurns = new ArrayQueue<Turn>(turns.size());
+		HashMap<String,Turn> simOwners = new HashMap<String,Turn>();
+		for (Turn t : turns) {
+			Turn copy = t.copy();
+			simTurns.enqueue(copy);
+			simOwners.put(copy.owner, copy);
+		}
+		HashMap<String,DoublyLinkedList<Job>> simChains = new HashMap<String,DoublyLinkedList<Job>>();
+		for (String owner : q.jobsByOwner.keySet()) {
+			DoublyLinkedList<Job> chain = new DoublyLinkedList<Job>();
+			for (Job job : q.jobsByOwner.get(owner)) {
+				chain.add(job);
+			}
+			simChains.put(owner, chain);
+		}
+		
+		ArrayList<Job> jobs = new ArrayList<Job>(q.printQ.size());
+		Job job;
+		while ((job = advance(simTurns, simOwners, simChains)) != null) {
+			jobs.add(job);
+			simTurns.first().deficit -= cost(job);
+			simChains.get(job.owner).removeAt(0);
+		}
+		return jobs;
+	}
+}
@@ -1,5 +1,7 @@
 package apps.linear.unixPrinter;
 
+import structures.linear.DLLNode;
+
 /**
  * This class encapsulates a print job comprising job id, name of job owner,
  * and name of file to be printed. It is only visible within its package.
@@ -24,6 +26,27 @@ class Job {
 	 */
 	String file;
 	
+	/**
+	 * Size of file to be printed, 0 if not known.
+	 */
+	long size;
+	
+	/**
+	 * Sequence number given to this job when it was queued, so that jobs can be
+	 * told apart by order of arrival.
+	 */
+	long seq;
+	
+	/**
+	 * Node holding this job in the print queue, null if the job is not queued.
+	 */
+	DLLNode<Job> queueNode;
+	
+	/**
+	 * Node holding this job in the chain of its owner's jobs, null if the job is not queued.
+	 */
+	DLLNode<Job> ownerNode;
+	
 	/**
 	 * Initializes a job instance with job id, name of owner, name of file to be printed.
 	 * 
@@ -32,9 +55,22 @@ class Job {
 	 * @param fileName Name of file to be printed.
 	 */
 	Job(String ownerName, int jobId, String fileName) {
+		this(ownerName, jobId, fileName, 0);
+	}
+	
+	/**
+	 * Initializes a job instance with job id, name of owner, name and size of file to be printed.
+	 * 
+	 * @param ownerName Name of job owner.
+	 * @param jobId Id of job.
+	 * @param fileName Name of file to be printed.
+	 * @param fileSize Size of file to be printed.
+	 */
+	Job(String ownerName, int jobId, String fileName, long fileSize) {
 		owner = ownerName;
 		id = jobId;
 		file = fileName;
+		size = fileSize;
 	}
 	
 	/* (non-Javadoc)
@@ -56,70 +92,3 @@ class Job {
 		return false;
 	}
 }
-
-/**
- * This class encapsulates a print job with a specialization of the equality condition,
- * in that two OwnerJob instances are equal if their owner names are the same.
- * 
- * @author Sesh Venugopal
- *
- */
-class OwnerJob extends Job {
-	
-	/**
-	 * Initializes an owner job instance with job id, name of owner, name of file to be printed.
-	 * 
-	 * @param owner Name of job owner.
-	 * @param jobId Id of job.
-	 * @param fileName Name of file to be printed.
-	 */
-	OwnerJob(String owner, int jobId, String fileName) {
-		super(owner, jobId, fileName);
-	}
-	
-	/* (non-Javadoc)
-	 * @see java.lang.Object#equals(java.lang.Object)
-	 */
-	public boolean equals(Object other) {
-		if ((other != null) && (other instanceof Job)) {
-			// equality based on job owner only
-			Job another = (Job)other;
-			return (owner.equals(another.owner));
-		}
-		return false;
-	}
-}
-
-/**
- * This class encapsulates a print job with a specialization of the equality condition,
- * in that two IdOwnerJob instances are equal if their ids and owner names are the same.
- * 
- * @author Sesh Venugopal
- *
- */
-class IdOwnerJob extends Job {
-	
-	/**
-	 * Initializes an IdOwner job instance with job id, name of owner, name of file to be printed.
-	 * 
-	 * @param owner Name of job owner.
-	 * @param jobId Id of job.
-	 * @param fileName Name of file to be printed.
-	 */
-	IdOwnerJob(String owner, int jobId, String fileName) {
-		super(owner, jobId, fileName);
-	}
-	
-	/* (non-Javadoc)
-	 * @see java.lang.Object#equals(java.lang.Object)
-	 */
-	public boolean equals(Object other) {
-		if ((other != null) && (other instanceof Job)) {
-			// equality based on both owner and id
-			Job another = (Job)other;
-			return (owner.equals(another.owner) && id == another.id);
-		}
-		return false;
-	}
-}
-
@@ -0,0 +1,422 @@
+package apps.linear.unixPrinter;
+
+import java.io.File;
+import java.io.IOError;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * This class implements an append-only journal of the changes made to a printer queue,
+ * kept in a memory-mapped file, from which the printer queue can be rebuilt after a
+ * restart. It is only visible within its package.
+ * <p>
+ * Every record is an int length, followed by that many bytes (a type byte and the
+ * fields of the record), followed by the CRC-32 of those bytes. A zero length marks
+ * the end of the journal; the file is grown ahead of the records in large chunks, and
+ * the unused part is all zeros. Replay stops at the first record that is cut short or
+ * fails its checksum, which is where a crash in the middle of an append leaves off.
+ * <p>
+ * Writes to the mapped file survive a crash of the process as soon as they are made,
+ * but not a crash of the machine until the mapping is forced to disk. Forcing is done
+ * once every batch of records (group commit), so a machine crash may lose up to the last
+ * batch of changes. When most of the records are for jobs that are no longer queued,
+ * the journal is compacted by writing the queued jobs to a new file, which then replaces
+ * the old one.
+ * <p>
+ * The methods that append, force, compact or close are synchronized on the journal,
+ * so that the threads that submit jobs to a concurrent printer queue can append their
+ * records without holding the printer queue's lock.
+ */
+class Journal {
+	
+	/**
+	 * Record type for a job that was queued: id, file size, owner name, file name.
+	 */
+	static final byte QUEUED = 1;
+	
+	/**
+	 * Record type for a job that was removed with lprm: id.
+	 */
+	static final byte REMOVED = 2;
+	
+	/**
+	 * Record type for a job that was dispatched: id.
+	 */
+	static final byte DISPATCHED = 3;
+	
+	/**
+	 * Default number of records per group commit.
+	 */
+	static final int DEFAULT_BATCH = 256;
+	
+	/**
+	 * Size by which the file is grown when the mapping is full.
+	 */
+	static final int CHUNK = 1 << 20;
+	
+	/**
+	 * Least number of records in the journal before it is compacted.
+	 */
+	static final int COMPACT_MIN = 4096;
+	
+	/**
+	 * Character set of owner and file names.
+	 */
+	static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	/**
+	 * Journal file.
+	 */
+	File file;
+	
+	/**
+	 * Channel on the journal file.
+	 */
+	FileChannel channel;
+	
+	/**
+	 * Mapping of the journal file. Its position is the end of the last record.
+	 */
+	MappedByteBuffer map;
+	
+	/**
+	 * Buffer in which a record is put together before it is appended.
+	 */
+	ByteBuffer scratch;
+	
+	/**
+	 * Checksum of record bytes.
+	 */
+	CRC32 crc;
+	
+	/**
+	 * Number of records per group commit.
+	 */
+	int batch;
+	
+	/**
+	 * Number of records appended since the mapping was last forced.
+	 */
+	int unforced;
+	
+	/**
+	 * Number of records in the journal.
+	 */
+	int records;
+	
+	/**
+	 * Opens a journal file, creating it if it does not exist.
+	 * 
+	 * @param file Journal file.
+	 * @param batch Number of records per group commit.
+	 * @throws IOException If the file cannot be opened or mapped.
+	 */
+	Journal(File file, int batch) 
+	throws IOException {
+		if (batch < 1) {
+			throw new IllegalArgumentException("batch < 1");
+		}
+		this.file = file;
+		this.batch = batch;
+		scratch = ByteBuffer.allocate(256);
+		crc = new CRC32();
+		open();
+	}
+	
+	/**
+	 * Opens the channel on the journal file and maps all of it, or one chunk if it is
+	 * smaller than that.
+	 * 
+	 * @throws IOException If the file cannot be opened or mapped.
+	 */
+	@SuppressWarnings("resource")
+	void open() 
+	throws IOException {
+		channel = new RandomAccessFile(file, "rw").getChannel();
+		map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), CHUNK));
+		unforced = 0;
+		records = 0;
+	}
+	
+	/**
+	 * Rebuilds a printer queue by replaying the records in this journal, and leaves the
+	 * journal positioned after the last good record. Anything after that is cleared.
+	 * The printer queue must be empty, and must not have this journal attached yet.
+	 * 
+	 * @param q Printer queue.
+	 */
+	void replay(PrintQueue q) {
+		map.position(0);
+		byte[] body = new byte[256];
+		while (map.remaining() >= 4) {
+			int start = map.position();
+			int len = map.getInt();
+			if (len <= 0 || len > map.remaining() - 4) {
+				map.position(start);
+				break;
+			}
+			if (len > body.length) {
+				body = new byte[Math.max(len, 2*body.length)];
+			}
+			map.get(body, 0, len);
+			crc.reset();
+			crc.update(body, 0, len);
+			if (map.getInt() != (int)crc.getValue()) {
+				map.position(start);
+				break;
+			}
+			apply(q, ByteBuffer.wrap(body, 0, len));
+			records++;
+		}
+		
+		// clear a torn record and anything after it
+		int end = map.position();
+		while (map.hasRemaining()) {
+			map.put((byte)0);
+		}
+		map.position(end);
+		map.force();
+	}
+	
+	/**
+	 * Applies a record to a printer queue.
+	 * 
+	 * @param q Printer queue.
+	 * @param rec Bytes of the record.
+	 */
+	void apply(PrintQueue q, ByteBuffer rec) {
+		byte type = rec.get();
+		int id = rec.getInt();
+		if (type == QUEUED) {
+			long size = rec.getLong();
+			String owner = getString(rec);
+			String name = getString(rec);
+			q.add(new Job(owner, id, name, size));
+			return;
+		}
+		Job job = q.jobsById.get(id);
+		if (job == null) {
+			return;
+		}
+		if (type == DISPATCHED && q.policy.peek(q) == job) {
+			q.policy.dispatched(q, job);
+		}
+		q.unlink(job);
+	}
+	
+	/**
+	 * Reads a length-prefixed string.
+	 * 
+	 * @param rec Buffer to read from.
+	 * @return String read.
+	 */
+	static String getString(ByteBuffer rec) {
+		int len = rec.getInt();
+		String s = new String(rec.array(), rec.arrayOffset() + rec.position(), len, UTF8);
+		rec.position(rec.position() + len);
+		return s;
+	}
+	
+	/**
+	 * Writes a length-prefixed string into the scratch buffer.
+	 * 
+	 * @param s String to be written.
+	 */
+	void putString(String s) {
+		byte[] bytes = s.getBytes(UTF8);
+		room(4 + bytes.length);
+		scratch.putInt(bytes.length);
+		scratch.put(bytes);
+	}
+	
+	/**
+	 * Makes sure the scratch buffer has room for a given number of bytes more.
+	 * 
+	 * @param n Number of bytes.
+	 */
+	void room(int n) {
+		if (scratch.remaining() < n) {
+			ByteBuffer bigger = ByteBuffer.allocate(Math.max(2*scratch.capacity(), scratch.position() + n));
+			scratch.flip();
+			bigger.put(scratch);
+			scratch = bigger;
+		}
+	}
+	
+	/**
+	 * Starts a record of a given type for a given job id in the scratch buffer.
+	 * 
+	 * @param type Record type.
+	 * @param id Job id.
+	 */
+	void begin(byte type, int id) {
+		scratch.clear();
+		scratch.put(type);
+		scratch.putInt(id);
+	}
+	
+	/**
+	 * Appends the record in the scratch buffer to the journal, growing the file if 
+	 * needed, and forces the mapping if a batch of records has been appended.
+	 */
+	void end() {
+		int len = scratch.position();
+		crc.reset();
+		crc.update(scratch.array(), 0, len);
+		if (map.remaining() < len + 12) { // 12 = length, checksum, and end marker
+			grow(len + 12);
+		}
+		map.putInt(len);
+		map.put(scratch.array(), 0, len);
+		map.putInt((int)crc.getValue());
+		records++;
+		if (++unforced >= batch) {
+			sync();
+		}
+	}
+	
+	/**
+	 * Remaps the journal file with at least a given number of bytes after the last record.
+	 * 
+	 * @param n Number of bytes needed.
+	 */
+	void grow(int n) {
+		int pos = map.position();
+		long size = map.capacity() + Math.max(CHUNK, n);
+		try {
+			map.force();
+			map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} catch (IOException e) {
+			throw new IOError(e);
+		}
+		map.position(pos);
+	}
+	
+	/**
+	 * Appends a record for a job that was queued.
+	 * 
+	 * @param job Job.
+	 */
+	synchronized void queued(Job job) {
+		begin(QUEUED, job.id);
+		scratch.putLong(job.size);
+		putString(job.owner);
+		putString(job.file);
+		end();
+	}
+	
+	/**
+	 * Appends a record for a job that was removed with lprm.
+	 * 
+	 * @param job Job.
+	 */
+	synchronized void removed(Job job) {
+		begin(REMOVED, job.id);
+		end();
+	}
+	
+	/**
+	 * Appends a record for a job that was dispatched.
+	 * 
+	 * @param job Job.
+	 */
+	synchronized void dispatched(Job job) {
+		begin(DISPATCHED, job.id);
+		end();
+	}
+	
+	/**
+	 * Forces all appended records to disk.
+	 */
+	synchronized void sync() {
+		map.force();
+		unforced = 0;
+	}
+	
+	/**
+	 * Tells whether this journal is due for compaction, given the number of jobs that 
+	 * are queued.
+	 * 
+	 * @param queued Number of queued jobs.
+	 * @return True if the journal should be compacted, false otherwise.
+	 */
+	synchronized boolean shouldCompact(int queued) {
+		return records >= COMPACT_MIN && records > 4 * queued;
+	}
+	
+	/**
+	 * Replaces this journal with one that has a record for each of a given sequence of jobs.
+	 * The new journal is written in full and forced to disk under a temporary name, and
+	 * then moved over the old one, so that a crash at any point leaves one of them intact.
+	 * 
+	 * @param jobs Queued jobs, in the order in which they were queued.
+	 */
+	synchronized void compact(Iterable<Job> jobs) {
+		File tmp = new File(file.getPath() + ".tmp");
+		long written = 0;
+		int count = 0;
+		try {
+			RandomAccessFile raf = new RandomAccessFile(tmp, "rw");
+			try {
+				raf.setLength(0);
+				FileChannel out = raf.getChannel();
+				ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+				for (Job job : jobs) {
+					begin(QUEUED, job.id);
+					scratch.putLong(job.size);
+					putString(job.owner);
+					putString(job.file);
+					int len = scratch.position();
+					if (buf.remaining() < len + 8) {
+						buf.flip();
+						while (buf.hasRemaining()) {
+							out.write(buf);
+						}
+						buf = buf.capacity() < len + 8 ? ByteBuffer.allocate(len + 8) : buf;
+						buf.clear();
+					}
+					crc.reset();
+					crc.update(scratch.array(), 0, len);
+					buf.putInt(len);
+					buf.put(scratch.array(), 0, len);
+					buf.putInt((int)crc.getValue());
+					written += len + 8;
+					count++;
+				}
+				buf.flip();
+				while (buf.hasRemaining()) {
+					out.write(buf);
+				}
+				out.force(true);
+			} finally {
+				raf.close();
+			}
+			channel.close();
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			open();
+		} catch (IOException e) {
+			throw new IOError(e);
+		}
+		map.position((int)written);
+		records = count;
+	}
+	
+	/**
+	 * Forces all appended records to disk, and closes the journal file.
+	 * 
+	 * @throws IOException If the file cannot be closed.
+	 */
+	synchronized void close() 
+	throws IOException {
+		sync();
+		channel.close();
+	}
+}
@@ -1,11 +1,42 @@
 package apps.linear.unixPrinter;
 
+import java.util.HashMap;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
-import structures.linear.Queue;
+import structures.linear.ConcurrentQueue;
+import structures.linear.DoublyLinkedList;
 
 /**
  * This class implements a printer queue, comprising of Job instances.
+ * <p>
+ * Jobs are kept in FIFO order in a doubly linked list. Alongside it, every job is
+ * indexed by its id in a hash table, and is also on a chain of the jobs of its owner.
+ * Since a job holds on to its nodes in the FIFO list and in its owner's chain, it can
+ * be unlinked from both in constant time, so removing a job by id takes constant 
+ * time, and removing all jobs of an owner takes time proportional to the number of
+ * jobs removed.
+ * <p>
+ * A printer queue made in concurrent mode may be shared by many threads that submit
+ * jobs with lpr while a printer thread takes them off with dispatch. Submitted jobs
+ * go into a lock-free inbox, so lpr never waits on the lock on this printer queue.
+ * The ids of all jobs in the inbox or the queue proper are kept in a concurrent hash
+ * table as well, so that lpr rejects a duplicate id right away, in the thread that
+ * submitted it. Every other operation holds the lock on this printer queue, and first
+ * moves the inbox jobs, in the order they were submitted, to the end of the queue proper.
+ * <p>
+ * The order in which jobs are dispatched is decided by a DispatchPolicy, which is
+ * first-in first-out unless another one is given. The job that the policy would
+ * dispatch next is the active job, that lprm(owner) removes.
+ * <p>
+ * A printer queue made with a journal file records every job that is queued, removed or
+ * dispatched in the journal, and is rebuilt from it when it is made again with the same
+ * file, e.g. after a restart. See Journal for what survives a crash. A job is recorded
+ * by lpr before lpr returns; in concurrent mode, lpr holds the journal's lock (but not
+ * the printer queue's) while it appends the record and puts the job in the inbox, so
+ * that jobs are recorded in the order in which they are drained.
  * 
  * @author Sesh Venugopal
  *
@@ -13,15 +44,223 @@ import structures.linear.Queue;
 public class PrintQueue {
 	
 	/**
-	 * List of jobs in this printer queue, stored in a Queue instance 
+	 * List of jobs in this printer queue, in FIFO order 
 	 */
-	Queue<Job> printQ;
+	DoublyLinkedList<Job> printQ;
+	
+	/**
+	 * Jobs in this printer queue, indexed by job id.
+	 */
+	HashMap<Integer,Job> jobsById;
+	
+	/**
+	 * Jobs in this printer queue, chained by owner name. Within a chain, jobs are
+	 * in FIFO order. Owners with no jobs in the queue do not have a chain.
+	 */
+	HashMap<String,DoublyLinkedList<Job>> jobsByOwner;
+	
+	/**
+	 * Jobs submitted but not yet moved to printQ, in concurrent mode. Null otherwise.
+	 */
+	ConcurrentQueue<Job> inbox;
+	
+	/**
+	 * Ids of all jobs in the inbox or in printQ, in concurrent mode. Null otherwise.
+	 */
+	ConcurrentHashMap<Integer,Boolean> ids;
+	
+	/**
+	 * Policy that decides which job is dispatched next.
+	 */
+	DispatchPolicy policy;
+	
+	/**
+	 * Sequence number to be given to the next job that is queued.
+	 */
+	long nextSeq;
+	
+	/**
+	 * Journal of changes to this printer queue, null if there is none.
+	 */
+	Journal journal;
 	
 	/**
 	 * Initializes this printer queue to empty. 
 	 */
 	public PrintQueue() {
-		printQ = new Queue<Job>();
+		this(false);
+	}
+	
+	/**
+	 * Initializes this printer queue to empty, with a given dispatch policy.
+	 * 
+	 * @param policy Dispatch policy.
+	 */
+	public PrintQueue(DispatchPolicy policy) {
+		this(policy, false);
+	}
+	
+	/**
+	 * Initializes this printer queue to empty, in concurrent mode if asked for.
+	 * 
+	 * @param concurrent True if this printer queue is to be shared by multiple threads.
+	 */
+	public PrintQueue(boolean concurrent) {
+		this(DispatchPolicy.fifo(), concurrent);
+	}
+	
+	/**
+	 * Initializes this printer queue to empty, with a given dispatch policy, in 
+	 * concurrent mode if asked for.
+	 * 
+	 * @param policy Dispatch policy.
+	 * @param concurrent True if this printer queue is to be shared by multiple threads.
+	 */
+	public PrintQueue(DispatchPolicy policy, boolean concurrent) {
+		this.policy = policy;
+		nextSeq = 0;
+		printQ = new DoublyLinkedList<Job>();
+		jobsById = new HashMap<Integer,Job>();
+		jobsByOwner = new HashMap<String,DoublyLinkedList<Job>>();
+		inbox = concurrent ? new ConcurrentQueue<Job>() : null;
+		ids = concurrent ? new ConcurrentHashMap<Integer,Boolean>() : null;
+		journal = null;
+	}
+	
+	/**
+	 * Initializes this printer queue from a given journal file, which is created if it
+	 * does not exist. All changes made to this printer queue are recorded in the journal.
+	 * 
+	 * @param journalFile Journal file.
+	 * @throws IOException If the journal file cannot be opened.
+	 */
+	public PrintQueue(File journalFile) 
+	throws IOException {
+		this(journalFile, DispatchPolicy.fifo(), false);
+	}
+	
+	/**
+	 * Initializes this printer queue from a given journal file, which is created if it
+	 * does not exist, with a given dispatch policy, in concurrent mode if asked for. 
+	 * All changes made to this printer queue are recorded in the journal.
+	 * 
+	 * @param journalFile Journal file.
+	 * @param policy Dispatch policy.
+	 * @param concurrent True if this printer queue is to be shared by multiple threads.
+	 * @throws IOException If the journal file cannot be opened.
+	 */
+	public PrintQueue(File journalFile, DispatchPolicy policy, boolean concurrent) 
+	throws IOException {
+		this(policy, concurrent);
+		Journal j = new Journal(journalFile, Journal.DEFAULT_BATCH);
+		j.replay(this);
+		journal = j;
+		compactIfDue();
+	}
+	
+	/**
+	 * Compacts the journal, if there is one and it is due for compaction. Must be called
+	 * with the lock on this printer queue held.
+	 */
+	void compactIfDue() {
+		if (journal == null) {
+			return;
+		}
+		// hold off lpr, and bring in the jobs it has recorded since the last drain,
+		// so that the compacted journal has all of them
+		synchronized (journal) {
+			drain();
+			if (journal.shouldCompact(printQ.size())) {
+				journal.compact(printQ);
+			}
+		}
+	}
+	
+	/**
+	 * Forces all changes recorded in the journal to disk. Does nothing if there is no 
+	 * journal.
+	 */
+	public synchronized void sync() {
+		drain();
+		if (journal != null) {
+			journal.sync();
+		}
+	}
+	
+	/**
+	 * Forces all changes recorded in the journal to disk, and closes the journal file.
+	 * This printer queue must not be used afterwards. Does nothing if there is no journal.
+	 * 
+	 * @throws IOException If the journal file cannot be closed.
+	 */
+	public synchronized void close() 
+	throws IOException {
+		drain();
+		if (journal != null) {
+			journal.close();
+		}
+	}
+	
+	/**
+	 * Adds a given job to the end of printQ, and to the indexes.
+	 * 
+	 * @param job Job to be added.
+	 * @throws IllegalArgumentException If there is already a job with the same id
+	 *                                  in this printer queue.
+	 */
+	void add(Job job) {
+		if (jobsById.containsKey(job.id)) {
+			throw new IllegalArgumentException("Job id " + job.id + " is already in the queue");
+		}
+		jobsById.put(job.id, job);
+		if (ids != null) {
+			ids.put(job.id, Boolean.TRUE);
+		}
+		DoublyLinkedList<Job> chain = jobsByOwner.get(job.owner);
+		if (chain == null) {
+			chain = new DoublyLinkedList<Job>();
+			jobsByOwner.put(job.owner, chain);
+		}
+		job.ownerNode = chain.add(job);
+		job.queueNode = printQ.add(job);
+		job.seq = nextSeq++;
+		policy.queued(this, job);
+	}
+	
+	/**
+	 * Removes a given job from printQ and from the indexes, in constant time.
+	 * 
+	 * @param job Job to be removed.
+	 */
+	void unlink(Job job) {
+		printQ.unlink(job.queueNode);
+		jobsById.remove(job.id);
+		if (ids != null) {
+			ids.remove(job.id);
+		}
+		DoublyLinkedList<Job> chain = jobsByOwner.get(job.owner);
+		chain.unlink(job.ownerNode);
+		if (chain.isEmpty()) {
+			jobsByOwner.remove(job.owner);
+		}
+		job.queueNode = null;
+		job.ownerNode = null;
+		policy.removed(this, job);
+	}
+	
+	/**
+	 * Moves the jobs in the inbox, if any, to the end of printQ. Must be called with 
+	 * the lock on this printer queue held. Since lpr has already checked the ids of 
+	 * these jobs against the ids table, none of them can be a duplicate.
+	 */
+	void drain() {
+		if (inbox == null) {
+			return;
+		}
+		Job job;
+		while ((job = inbox.poll()) != null) {
+			add(job);
+		}
 	}
 	
 	/**
@@ -30,10 +269,68 @@ public class PrintQueue {
 	 * @param owner Name of job owner.
 	 * @param jobId Id of job.
 	 * @param file Name of file to be printed.
+	 * @throws IllegalArgumentException If there is already a job with the given id
+	 *                                  in this printer queue.
 	 */
 	public void lpr(String owner, int jobId, String file) {
+		lpr(owner, jobId, file, 0);
+	}
+	
+	/**
+	 * Queues up a given job at this printer queue, with the size of the file to be
+	 * printed, which may be used by the dispatch policy.
+	 * 
+	 * @param owner Name of job owner.
+	 * @param jobId Id of job.
+	 * @param file Name of file to be printed.
+	 * @param size Size of file to be printed.
+	 * @throws IllegalArgumentException If there is already a job with the given id
+	 *                                  in this printer queue.
+	 */
+	public void lpr(String owner, int jobId, String file, long size) {
 		// create and enqueue a new job
-		printQ.enqueue(new Job(owner,jobId,file));
+		Job job = new Job(owner,jobId,file,size);
+		if (inbox != null) {
+			// claim the id before the job becomes visible in the inbox
+			if (ids.putIfAbsent(jobId, Boolean.TRUE) != null) {
+				throw new IllegalArgumentException("Job id " + jobId + " is already in the queue");
+			}
+			if (journal == null) {
+				inbox.enqueue(job);
+			} else {
+				synchronized (journal) {
+					journal.queued(job);
+					inbox.enqueue(job);
+				}
+			}
+		} else {
+			synchronized (this) {
+				add(job);
+				if (journal != null) {
+					journal.queued(job);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Removes the job at the front of this printer queue, to be sent to the printer.
+	 * 
+	 * @return Listing of the dispatched job, null if this queue is empty.
+	 */
+	public synchronized String dispatch() {
+		drain();
+		Job job = policy.peek(this);
+		if (job == null) {
+			return null;
+		}
+		policy.dispatched(this, job);
+		if (journal != null) {
+			journal.dispatched(job);
+		}
+		unlink(job);
+		compactIfDue();
+		return job.toString();
 	}
 	
 	/**
@@ -41,12 +338,30 @@ public class PrintQueue {
 	 * 
 	 * @param pw PrintWriter used to print jobs in this queue.
 	 */
-	public void lpq(PrintWriter pw) {
+	public synchronized void lpq(PrintWriter pw) {
+		drain();
 		// step through all the entries in queue
-		Job job = printQ.first();
-		while (job != null) {
+		for (Job job : printQ) {
+			pw.println(job);
+		}
+	}
+	
+	/**
+	 * Prints the jobs in this printer queue with a given PrintWriter, either in the 
+	 * order in which they were queued, or in the order in which they are expected
+	 * to be dispatched if no jobs are queued or removed in the meantime.
+	 * 
+	 * @param pw PrintWriter used to print jobs in this queue.
+	 * @param dispatchOrder True if jobs are to be printed in expected dispatch order.
+	 */
+	public synchronized void lpq(PrintWriter pw, boolean dispatchOrder) {
+		if (!dispatchOrder) {
+			lpq(pw);
+			return;
+		}
+		drain();
+		for (Job job : policy.order(this)) {
 			pw.println(job);
-			job = printQ.next();
 		}
 	}
 	
@@ -59,30 +374,42 @@ public class PrintQueue {
 	 * @throws NoSuchElementException If no matching job exists in this printer queue, or
 	 *                                if this queue is empty.
 	 */
-	public void lprm(String owner, int jobId) {
-		if (printQ.isEmpty()) {
+	public synchronized void lprm(String owner, int jobId) {
+		drain();
+		// look up entry by id, and check owner
+		Job job = jobsById.get(jobId);
+		if (job == null || !owner.equals(job.owner)) {
 			throw new NoSuchElementException();
 		}
-		// remove entry that matches owner and id
-		printQ.remove(new IdOwnerJob(owner, jobId, null));
+		if (journal != null) {
+			journal.removed(job);
+		}
+		unlink(job);
+		compactIfDue();
 	}
 	
 	/**
-	 * Removes the job at the front of his printer queue, provided its owner name
-	 * matches the given owner name. 
+	 * Removes the active job of this printer queue, i.e. the one that would be dispatched
+	 * next, provided its owner name matches the given owner name. With first-in first-out
+	 * dispatch, this is the job at the front. 
 	 * 
 	 * @param owner Owner name to be matched against the job at the front of this printer queue.
 	 * @throws NoSuchElementException If the job at the front does not have a matching owner name to
 	 *                                given owner name, or if this queue is empty.
 	 */
-	public void lprm(String owner) {
-		if (printQ.isEmpty()) {
+	public synchronized void lprm(String owner) {
+		drain();
+		Job front = policy.peek(this);
+		if (front == null) {
 			throw new NoSuchElementException();
 		}
-		Job front = printQ.first();
 		if (owner.equals(front.owner)) {
 			// dequeue if front entry has matching owner
-			printQ.dequeue();
+			if (journal != null) {
+				journal.removed(front);
+			}
+			unlink(front);
+			compactIfDue();
 		} else {
 			throw new NoSuchElementException();
 		}
@@ -95,12 +422,27 @@ public class PrintQueue {
 	 * @throws NoSuchElementException If no job matches the given owner name, or
 	 *                                if this queue is empty.
 	 */
-	public void lprmAll(String owner) 
+	public synchronized void lprmAll(String owner) 
 	throws NoSuchElementException {
-		if (printQ.isEmpty()) {
+		drain();
+		// remove all entries on the owner's chain
+		DoublyLinkedList<Job> chain = jobsByOwner.remove(owner);
+		if (chain == null) {
 			throw new NoSuchElementException();
 		}
-		// remove all entries with matching owner
-		printQ.removeAll(new OwnerJob(owner, 0, null));
+		for (Job job : chain) {
+			if (journal != null) {
+				journal.removed(job);
+			}
+			printQ.unlink(job.queueNode);
+			jobsById.remove(job.id);
+			if (ids != null) {
+				ids.remove(job.id);
+			}
+			job.queueNode = null;
+			job.ownerNode = null;
+			policy.removed(this, job);
+		}
+		compactIfDue();
 	}
 }
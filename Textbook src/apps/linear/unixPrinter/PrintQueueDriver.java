@@ -14,7 +14,7 @@ class PrintQueueDriver {
 	 * An enumerated list of commands that can be issued on a print queue.
 	 *
 	 */
-	public enum Command { lpr, lpq, lprmid, lprmactive, lprmall, quit }
+	public enum Command { lpr, lpq, lpqorder, lprmid, lprmactive, lprmall, quit }
 	
 	/**
 	 * BufferedReader to read commands issues at terminal.
@@ -25,7 +25,7 @@ class PrintQueueDriver {
 	/**
 	 * Print queue instance that is driven.
 	 */
-	static PrintQueue myQ = new PrintQueue();
+	static PrintQueue myQ;
 	
 	/**
 	 * PrintWriter instance using which listings from the print queue are written to
@@ -64,6 +64,28 @@ class PrintQueueDriver {
 		return Command.quit;
 	}
 	
+	/**
+	 * Gets the dispatch policy for the print queue, as named at terminal.
+	 * 
+	 * @return Dispatch policy, first-in first-out if the name is not recognized.
+	 * @throws IOException If there is an i/o error in reading the policy.
+	 */
+	static DispatchPolicy getPolicy()
+	throws IOException {
+		System.out.print("Dispatch policy (fifo, sjf, rr)? => ");
+		System.out.flush();
+		String choice = stdbr.readLine().trim();
+		if (choice.equals("sjf")) {
+			return DispatchPolicy.shortestJobFirst();
+		}
+		if (choice.equals("rr")) {
+			System.out.print("Quantum? => ");
+			System.out.flush();
+			return DispatchPolicy.roundRobin(Long.parseLong(stdbr.readLine().trim()));
+		}
+		return DispatchPolicy.fifo();
+	}
+	
 	/**
 	 * Queues a job at the print queue.
 	 * 
@@ -83,7 +105,11 @@ class PrintQueueDriver {
 		System.out.flush();
 		String file = stdbr.readLine();
 		
-		myQ.lpr(owner, id, file);
+		System.out.print("File Size? => ");
+		System.out.flush();
+		long size = Long.parseLong(stdbr.readLine().trim());
+		
+		myQ.lpr(owner, id, file, size);
 	}
 	
 	/**
@@ -97,6 +123,18 @@ class PrintQueueDriver {
 		pw.flush();
 	}
 	
+	/**
+	 * Lists the jobs in the print queue in the order in which they are expected to be
+	 * dispatched.
+	 * 
+	 * @throws IOException If there is an i/o error in listing the jobs.
+	 */
+	static void lpqorder()
+	throws IOException {
+		myQ.lpq(pw, true);
+		pw.flush();
+	}
+	
 	/**
 	 * Removes a job in the print queue that matches an owner name and an id.
 	 * 
@@ -158,6 +196,8 @@ class PrintQueueDriver {
 	 */
 	public static void main(String[] args)
 	throws IOException {
+		myQ = new PrintQueue(getPolicy());
+		
 		Command cmd;
 		while ((cmd = getCommand()) != Command.quit) {
 			switch(cmd) {
@@ -165,6 +205,8 @@ class PrintQueueDriver {
 			break;
 			case lpq        : lpq();
 			break;
+			case lpqorder   : lpqorder();
+			break;
 			case lprmid     : lprmid();
 			break;
 			case lprmactive : lprmactive();
@@ -1,12 +1,15 @@
 package apps.tree;
 
-import structures.tree.BinaryTree;
-import structures.linear.Queue;
+import structures.tree.TreeArena;
+import structures.linear.IntQueue;
 import java.util.NoSuchElementException;
-import java.util.ArrayList;
 
 /**
- * This class implements a Huffman tree.
+ * This class implements a Huffman tree. The nodes of the tree are packed into a
+ * TreeArena, with the value at every node in a float array indexed by node: a 
+ * leaf holds the index of its symbol, and any other node holds the sum of the
+ * probabilities below it. A tree for n symbols has exactly 2n-1 nodes, so all
+ * the arrays are allocated up front at their final size.
  *
  * @author Sesh Venugopal
  *
@@ -23,10 +26,21 @@ public class Huffman {
 	 */
 	float[] probs;     
 	
+	/**
+	 * Nodes of the Huffman tree.
+	 */
+	TreeArena nodes;
+	
+	/**
+	 * Value at every node of the Huffman tree: symbol index at a leaf, probability
+	 * at any other node.
+	 */
+	float[] values;
+	
 	/**
 	 * Leaf nodes in huffman tree at which symbols are stored. 
 	 */
-	ArrayList<BinaryTree<Float>> locations;  
+	int[] locations;  
 	
 	/**
 	 * Huffman codes for the symbols.
@@ -36,17 +50,17 @@ public class Huffman {
 	/**
 	 * Queue of leaf nodes.
 	 */
-	Queue<BinaryTree<Float>> leaves;
+	IntQueue leaves;
 	
 	/**
 	 * Queue of subtrees.
 	 */
-	Queue<BinaryTree<Float>> trees;
+	IntQueue trees;
 	
 	/**
-	 * Root of Huffman tree.
+	 * Root of Huffman tree, NIL if there are no symbols.
 	 */
-	BinaryTree<Float> huffman;
+	int huffman;
 	
 	/**
 	 * Builds a Huffman tree out of a given set of symbols and their probabilities
@@ -58,35 +72,41 @@ public class Huffman {
 	public Huffman(char[] symbols, float[] probs) {
 		this.symbols = symbols;
 		this.probs = probs;
-		locations = new ArrayList<BinaryTree<Float>>(symbols.length);
+		locations = new int[symbols.length];
+		
+		// a tree with n leaves has 2n-1 nodes, and a single symbol needs a root
+		// above its leaf, so 2n nodes are always enough
+		nodes = new TreeArena(2*symbols.length);
+		values = new float[nodes.capacity()];
 		
 		// if there are no symbols, build empty tree
 		if (symbols.length == 0) {
-			huffman = null;
+			huffman = TreeArena.NIL;
 			return;
 		}
 		
 		// if there is only one symbol, create a tree with root
 		// and left child, and return
 		if (symbols.length == 1) {
-			BinaryTree<Float> leaf = new BinaryTree<Float>();
-			leaf.makeRoot(0f);
-			locations.add(leaf);
-			huffman = new BinaryTree<Float>();
-			huffman.makeRoot(probs[0]);
-			huffman.attachLeft(leaf);
+			int leaf = nodes.newNode();
+			values[leaf] = 0f;
+			locations[0] = leaf;
+			huffman = nodes.newNode();
+			values[huffman] = probs[0];
+			nodes.attachLeft(huffman, leaf);
+			processCodes();
 			return;
 		}
 		
-		leaves = new Queue<BinaryTree<Float>>();
-		trees = new Queue<BinaryTree<Float>>();
+		leaves = new IntQueue(symbols.length);
+		trees = new IntQueue(symbols.length);
 		
 		// build the queue of leaf nodes
 		buildLeaves();
 		
 		// extract first two leaf nodes
-		BinaryTree<Float> first = leaves.dequeue();
-		BinaryTree<Float> second = leaves.dequeue();
+		int first = leaves.dequeue();
+		int second = leaves.dequeue();
 		
 		// build new tree and add to queue trees
 		buildTree(first, second);
@@ -110,9 +130,9 @@ public class Huffman {
 	 */
 	void buildLeaves() {
 		for (int i=0; i < symbols.length; i++) {
-			BinaryTree<Float> leaf = new BinaryTree<Float>();
-			leaf.makeRoot((float)i);
-			locations.add(leaf);
+			int leaf = nodes.newNode();
+			values[leaf] = i;
+			locations[i] = leaf;
 			leaves.enqueue(leaf);
 		}
 	}
@@ -120,21 +140,24 @@ public class Huffman {
 	/**
 	 * Selects the minimum probability tree (node) out of the trees at the front of
 	 * the leaves and trees queues, respectively,and removes the selected tree from its queue.
+	 * If one of the queues is empty, the tree at the front of the other is selected.
 	 * 
 	 * @return Minimum probability tree.
 	 */
-	BinaryTree<Float> selectMin() {
-		BinaryTree<Float> first = leaves.first();
-		BinaryTree<Float> second = trees.first();
+	int selectMin() {
+		if (trees.isEmpty()) {
+			return leaves.dequeue();
+		}
+		if (leaves.isEmpty()) {
+			return trees.dequeue();
+		}
 		
-		float prob1 = getProb(first);
-		float prob2 = getProb(second);
+		float prob1 = getProb(leaves.get(0));
+		float prob2 = getProb(trees.get(0));
 		if (prob1 < prob2) {
-			leaves.dequeue();
-			return first;
+			return leaves.dequeue();
 		} else {
-			trees.dequeue();
-			return second;
+			return trees.dequeue();
 		}
 	}
 	
@@ -146,12 +169,11 @@ public class Huffman {
 	 * @param tree Tree node for which probability is extracted.
 	 * @return Probability value.
 	 */
-	float getProb(BinaryTree<Float> tree) {
-		if (tree.left == null && tree.right == null) { // leaf 
-			float index = tree.getData();
-			return probs[(int)index];
+	float getProb(int tree) {
+		if (nodes.isLeaf(tree)) { // leaf 
+			return probs[(int)values[tree]];
 		}
-		return tree.getData();
+		return values[tree];
 	}
 	
 	/**
@@ -162,14 +184,14 @@ public class Huffman {
 	 * @param first To be attached as left child of new root.
 	 * @param second To be attached as right child of new root.
 	 */
-	void buildTree(BinaryTree<Float> first, BinaryTree<Float> second) {
+	void buildTree(int first, int second) {
 		float prob1 = getProb(first);
 		float prob2 = getProb(second);
 		
-		BinaryTree<Float> both = new BinaryTree<Float>();
-		both.makeRoot(prob1 + prob2);
-		both.attachLeft(first);
-		both.attachRight(second);
+		int both = nodes.newNode();
+		values[both] = prob1 + prob2;
+		nodes.attachLeft(both, first);
+		nodes.attachRight(both, second);
 		trees.enqueue(both);
 	}
 	
@@ -178,8 +200,8 @@ public class Huffman {
 	 */
 	void buildAll() {
 		while (!leaves.isEmpty()) {
-			BinaryTree<Float> first = selectMin();
-			BinaryTree<Float> second = null;
+			int first = selectMin();
+			int second;
 			if (!leaves.isEmpty()) {
 				second = selectMin();
 			} else {
@@ -189,8 +211,8 @@ public class Huffman {
 		}
 		
 		while (trees.size() > 1) {
-			BinaryTree<Float> first = trees.dequeue();
-			BinaryTree<Float> second = trees.dequeue();
+			int first = trees.dequeue();
+			int second = trees.dequeue();
 			buildTree(first, second);
 		}
 	}
@@ -201,11 +223,11 @@ public class Huffman {
 	 * @param tree Tree for which height is to be found.
 	 * @return Height of tree. Empty tree's height is -1.
 	 */
-	int treeHeight(BinaryTree<Float> tree) {
-		if (tree == null) {
+	int treeHeight(int tree) {
+		if (tree == TreeArena.NIL) {
 			return -1;
 		}
-		return Math.max(treeHeight(tree.left), treeHeight(tree.right)) + 1;
+		return Math.max(treeHeight(nodes.left(tree)), treeHeight(nodes.right(tree))) + 1;
 	}
 	
 	/**
@@ -219,19 +241,19 @@ public class Huffman {
 		
 		// use locations to access a leaf and go towards the root
 		// filling in the code backwards in codeString
-		for (int i=0; i < locations.size(); i++) {
+		for (int i=0; i < locations.length; i++) {
 			int index = height;
-			BinaryTree<Float> node = locations.get(i);
-			BinaryTree<Float> parent = node.parent;
-			while (parent != null) {
+			int node = locations[i];
+			int parent = nodes.parent(node);
+			while (parent != TreeArena.NIL) {
 				index--;
-				if (node == parent.left) {
+				if (node == nodes.left(parent)) {
 					codeString[index] = '0';
 				} else {
 					codeString[index] = '1';
 				}
 				node = parent;
-				parent = node.parent;
+				parent = nodes.parent(node);
 			}
 			// create a String from codeString and fill in codes
 			codes[i] = new String(codeString, index, height-index);
@@ -267,17 +289,16 @@ public class Huffman {
 		StringBuffer decoded = new StringBuffer();
 		int i=0;
 		while (i < code.length()) {
-			BinaryTree<Float> node = huffman;
-			while (node.left != null || node.right != null) {
+			int node = huffman;
+			while (!nodes.isLeaf(node)) {
 				if (code.charAt(i++) == '0') {
-					node = node.left;
+					node = nodes.left(node);
 				} else {
-					node = node.right;
+					node = nodes.right(node);
 				}
 			}
 			// reached a leaf node
-			float index = node.getData();
-			decoded.append(symbols[(int)index]);
+			decoded.append(symbols[(int)values[node]]);
 		}
 		return decoded.toString();
 	}
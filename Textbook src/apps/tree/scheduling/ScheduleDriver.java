@@ -14,7 +14,7 @@ public class ScheduleDriver {
 	 * All the actions that can be issued to the driver.
 	 *
 	 */
-	public enum Action { run, restart, quit }
+	public enum Action { run, reprioritize, restart, quit }
 	
 	/**
 	 * Reader to read actions from terminal.
@@ -131,6 +131,17 @@ public class ScheduleDriver {
 							myScheduler.run(howLong);
 							display(pw);
 							break;
+			case reprioritize : System.out.print("Process id => ");
+							System.out.flush();
+							int pid = Integer.parseInt(stdbr.readLine());
+							System.out.print("New priority => ");
+							System.out.flush();
+							int priority = Integer.parseInt(stdbr.readLine());
+							if (!myScheduler.reprioritize(pid, priority)) {
+								System.out.println("Process " + pid + " is not waiting");
+							}
+							display(pw);
+							break;
 			case restart   : startSimul();
 							break;
 			default        : break;
@@ -1,7 +1,9 @@
 package apps.tree.scheduling;
 
-import structures.tree.Heap;
+import structures.tree.HeapHandle;
+import structures.tree.IndexedHeap;
 import java.io.PrintWriter;
+import java.util.HashMap;
 
 /**
  * This class acts as the coordinator of all scheduling activities in the
@@ -26,7 +28,12 @@ public class Scheduler {
 	 * Processor heap that stores processes that are in the scheduling system in
 	 * a priority queue.
 	 */
-	Heap<Process> procHeap; 
+	IndexedHeap<Process> procHeap; 
+	
+	/**
+	 * Heap handles of the processes in the process heap, keyed by process id.
+	 */
+	HashMap<Integer,HeapHandle<Process>> waiting;
 	
 	/**
 	 * Total number ofprocessors that have completed execution so far.
@@ -64,7 +71,8 @@ public class Scheduler {
 	 * Initializes a new instance by setting the process priority queue to empty.
 	 */
 	public Scheduler() {
-		procHeap = new Heap<Process>();
+		procHeap = new IndexedHeap<Process>();
+		waiting = new HashMap<Integer,HeapHandle<Process>>();
 	}
 	
 	/**
@@ -81,6 +89,7 @@ public class Scheduler {
 		source = new ProcessSource(probOfArrival, maxExecTime, maxPriority);
 		cpu = new Processor(timeSlice);
 		procHeap.clear();
+		waiting.clear();
 		clock = 0;
 		numProcs = 0;
 		thruPut = 0;
@@ -105,7 +114,7 @@ public class Scheduler {
 			Process process = source.getProcess();
 			if (process != null) {
 				process.arrivalTime = clock;
-				procHeap.add(process);
+				waiting.put(process.pid, procHeap.add(process));
 				intervalNumProcs++;
 				numProcs++;
 			}
@@ -121,7 +130,7 @@ public class Scheduler {
 						if (process.priority < 0) process.priority = 0;
 						process.arrivalTime = clock;
 						// reenter with lower priority
-						procHeap.add(process);
+						waiting.put(process.pid, procHeap.add(process));
 					} else {
 						thruPut++;
 						intervalThruPut++;
@@ -130,6 +139,7 @@ public class Scheduler {
 				
 				if (!procHeap.isEmpty()) { // start execution another process
 					Process temp = procHeap.deleteMax();
+					waiting.remove(temp.pid);
 					cpu.startUp(temp);
 				}
 			}
@@ -141,6 +151,32 @@ public class Scheduler {
 		}
 	}
 	
+	/**
+	 * Changes the priority of a process that is waiting in the process heap, and
+	 * moves it up or down the heap accordingly.
+	 * 
+	 * @param pid Process id.
+	 * @param priority New priority, 0 or more.
+	 * @return True if the process was waiting and its priority was changed, false
+	 * 			if there is no such process in the heap (e.g. it is executing or done).
+	 */
+	public boolean reprioritize(int pid, int priority) {
+		HeapHandle<Process> handle = waiting.get(pid);
+		if (handle == null) {
+			return false;
+		}
+		Process process = handle.getData();
+		if (priority < 0) priority = 0;
+		int old = process.priority;
+		process.priority = priority;
+		if (priority > old) {
+			procHeap.increaseKey(handle, process);
+		} else {
+			procHeap.decreaseKey(handle, process);
+		}
+		return true;
+	}
+	
 	/**
 	 * Prints the status of the simulation system.
 	 * 
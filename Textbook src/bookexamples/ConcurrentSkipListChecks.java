@@ -0,0 +1,124 @@
+package bookexamples;
+
+import structures.tree.ConcurrentSkipList;
+
+/**
+ * This application checks that lock-free reads of a ConcurrentSkipList give correct
+ * answers while writers are changing the list. The even keys 0 through 2*(KEYS-1)
+ * are always in the list, while writer threads keep inserting and deleting the odd
+ * keys in between, and reader threads check every even key with search, floor and
+ * ceiling, all of which must find it.
+ */
+public class ConcurrentSkipListChecks {
+	
+	/**
+	 * Number of even keys, which are always in the list.
+	 */
+	static final int KEYS = 1000;
+	
+	/**
+	 * Number of writer threads, and of reader threads.
+	 */
+	static final int THREADS = 2;
+	
+	/**
+	 * List under test.
+	 */
+	static final ConcurrentSkipList<Integer> list = new ConcurrentSkipList<Integer>();
+	
+	/**
+	 * Set when the threads are to stop.
+	 */
+	static volatile boolean stop = false;
+	
+	/**
+	 * Number of wrong answers seen by the readers.
+	 */
+	static int failures = 0;
+	
+	/**
+	 * Number of reads done.
+	 */
+	static long reads = 0;
+	
+	/**
+	 * Records a wrong answer.
+	 * 
+	 * @param what Description of the wrong answer.
+	 */
+	static synchronized void fail(String what) {
+		if (failures < 10) {
+			System.out.println("FAILED: " + what);
+		}
+		failures++;
+	}
+	
+	/**
+	 * @param args Optional argument - number of milliseconds to run, 2000 by default.
+	 * @throws InterruptedException If interrupted while waiting for the threads.
+	 */
+	public static void main(String[] args) 
+	throws InterruptedException {
+		long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+		for (int i=0; i < KEYS; i++) {
+			list.insert(2*i);
+		}
+		
+		Thread[] threads = new Thread[2*THREADS];
+		for (int t=0; t < THREADS; t++) {
+			final int seed = t;
+			threads[t] = new Thread() {
+				public void run() {
+					int k = seed;
+					while (!stop) {
+						int odd = 2*(k % KEYS) + 1;
+						if (list.search(odd) == null) {
+							try { list.insert(odd); } catch (RuntimeException e) { }
+						} else {
+							try { list.delete(odd); } catch (RuntimeException e) { }
+						}
+						k = k*1103515245 + 12345 & 0x7fffffff;
+					}
+				}
+			};
+			threads[THREADS+t] = new Thread() {
+				public void run() {
+					long n = 0;
+					while (!stop) {
+						for (int i=0; i < KEYS; i++) {
+							Integer k = 2*i;
+							if (!k.equals(list.search(k))) {
+								fail("search(" + k + ") = " + list.search(k));
+							}
+							Integer f = list.floor(k);
+							if (!k.equals(f)) {
+								fail("floor(" + k + ") = " + f);
+							}
+							Integer c = list.ceiling(k);
+							if (!k.equals(c)) {
+								fail("ceiling(" + k + ") = " + c);
+							}
+							n += 3;
+						}
+					}
+					synchronized (ConcurrentSkipListChecks.class) {
+						reads += n;
+					}
+				}
+			};
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		Thread.sleep(millis);
+		stop = true;
+		for (Thread t : threads) {
+			t.join();
+		}
+		
+		System.out.println(reads + " reads, " + failures + " wrong answers");
+		if (failures > 0) {
+			throw new IllegalStateException(failures + " wrong answers");
+		}
+	}
+}
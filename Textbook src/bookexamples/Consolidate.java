@@ -2,6 +2,7 @@ package bookexamples;
 
 import structures.linear.OrderedList;
 import structures.linear.Merger;
+import structures.linear.StreamMerger;
 import java.util.Scanner;
 import java.io.*;
 
@@ -30,16 +31,56 @@ public class Consolidate {
 		System.out.println();
 	}
 	
+	/**
+	 * Consolidates the lists by streaming them through StreamMerger, writing the
+	 * final list to a file as it is produced. None of the lists is held in memory,
+	 * so this works for lists of any length. The output is the same as what
+	 * printList prints for the in-memory consolidation.
+	 * 
+	 * @param files Names of the four input files, in the order accepted by main
+	 * @param outFile Name of the output file
+	 * @throws IOException If there is an error reading the inputs or writing the output
+	 */
+	static void streamConsolidate(String[] files, String outFile) 
+	throws IOException {
+		Reader[] in = new Reader[4];
+		Writer out = new BufferedWriter(new FileWriter(outFile), 1 << 16);
+		try {
+			for (int i=0; i < 4; i++) {
+				in[i] = new FileReader(files[i]);
+			}
+			StreamMerger.Source<String> mergedIns = StreamMerger.union(
+					StreamMerger.tokens(in[0]), StreamMerger.tokens(in[1]));
+			StreamMerger.Source<String> mergedDels = StreamMerger.union(
+					StreamMerger.tokens(in[2]), StreamMerger.tokens(in[3]));
+			StreamMerger.write(StreamMerger.difference(mergedIns, mergedDels), out, " - ");
+			out.write(System.getProperty("line.separator"));
+		} finally {
+			for (int i=0; i < 4; i++) {
+				if (in[i] != null) {
+					in[i].close();
+				}
+			}
+			out.close();
+		}
+	}
+	
 	/**
 	 * @param args Arguments to the program. These are the the names of files that 
 	 * 				contain the lists to be merged, in this order: your insert list,
 	 * 				your roommate's insert list, your delete list, your roommate's
-	 * 				delete list
+	 * 				delete list. If a fifth file name is given, the lists are 
+	 * 				consolidated by streaming, and the result is written to that file
 	 * 			
 	 */
 	public static void main(String[] args) 
 	throws IOException {
 		
+		if (args.length > 4) {
+			streamConsolidate(args, args[4]);
+			return;
+		}
+		
 		Scanner sc = new Scanner(new File(args[0]));
 		OrderedList<String> YInsList = new OrderedList<String>();
 		while (sc.hasNext()) {
@@ -6,7 +6,9 @@ import structures.tree.*;
 
 /**
  * This is an example that shows how the Heap class can be used for sorting. See
- * section "Sorting with the Heap Class" in the text.
+ * section "Sorting with the Heap Class" in the text. The integers are read into
+ * an array and sorted in place with Heap.heapSort, which builds the heap inside
+ * the array itself instead of adding the integers to a separate heap.
  * 
  * @author Sesh Venugopal
  *
@@ -20,14 +22,14 @@ public class HeapSort {
 	throws IOException {
 		Scanner sc = new Scanner(new File(args[0]));
 		int n = sc.nextInt();
-		Heap<Integer> sortHeap = new Heap<Integer>(n);
+		int[] list = new int[n];
 		for (int i=0; i < n; i++) {
-			int val = sc.nextInt();
-			sortHeap.add(val);
+			list[i] = sc.nextInt();
 		}
+		Heap.heapSort(list);
 		System.out.println("\t");
-		while (!sortHeap.isEmpty()) {
-			System.out.print(sortHeap.deleteMax() + "  ");
+		for (int i=0; i < n; i++) {
+			System.out.print(list[i] + "  ");
 		}
 		System.out.println();
 	}
@@ -0,0 +1,208 @@
+package bookexamples;
+
+import java.util.ArrayList;
+
+import structures.linear.LinkedList;
+import structures.linear.Predicate;
+
+/**
+ * This application checks the bulk operations of LinkedList - addAll, transferFrom,
+ * removeIf and drainTo. After every operation, the list must hold exactly the
+ * expected items, its size must agree with them, and its tail must be its last
+ * node, which is checked by adding an item and finding it at the end.
+ */
+public class LinkedListChecks {
+	
+	/**
+	 * Predicate that is satisfied by even integers.
+	 */
+	static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+		public boolean test(Integer item) {
+			return item % 2 == 0;
+		}
+	};
+	
+	/**
+	 * Makes a list of given items.
+	 * 
+	 * @param items Items of the list, in order.
+	 * @return New list.
+	 */
+	static LinkedList<Integer> listOf(int... items) {
+		LinkedList<Integer> list = new LinkedList<Integer>();
+		for (int item : items) {
+			list.add(item);
+		}
+		return list;
+	}
+	
+	/**
+	 * Throws an exception if a given condition does not hold.
+	 * 
+	 * @param cond Condition to be checked.
+	 * @param what Description of the check.
+	 * @throws IllegalStateException If the condition does not hold.
+	 */
+	static void check(boolean cond, String what) {
+		if (!cond) {
+			throw new IllegalStateException("FAILED: " + what);
+		}
+	}
+	
+	/**
+	 * Checks that a given list holds exactly the given items, that its size is right,
+	 * and that an item added to it goes at the end. The added item is removed again.
+	 * 
+	 * @param list List to be checked.
+	 * @param items Expected items, in order.
+	 * @param what Description of the check.
+	 * @throws IllegalStateException If the list is not as expected.
+	 */
+	static void check(LinkedList<Integer> list, int[] items, String what) {
+		check(list.size() == items.length, what + ": size " + list.size() + ", expected " + items.length);
+		check(list.isEmpty() == (items.length == 0), what + ": isEmpty");
+		int i = 0;
+		for (Integer item : list) {
+			check(i < items.length && item == items[i], what + ": item " + i + " is " + item);
+			i++;
+		}
+		check(i == items.length, what + ": iterated over " + i + " items");
+		
+		// the tail must be the last node
+		list.add(-1);
+		check(list.getAt(items.length) == -1, what + ": added item is not at the end");
+		check(list.size() == items.length + 1, what + ": size after add");
+		list.removeAt(items.length);
+		check(list.size() == items.length, what + ": size after removeAt");
+	}
+	
+	/**
+	 * Checks addAll, which copies the items of its source.
+	 */
+	static void addAll() {
+		LinkedList<Integer> list = listOf(1, 2);
+		ArrayList<Integer> src = new ArrayList<Integer>();
+		src.add(3); src.add(4);
+		list.addAll(src);
+		check(list, new int[]{1, 2, 3, 4}, "addAll from ArrayList");
+		
+		LinkedList<Integer> other = listOf(5, 6);
+		list.addAll(other);
+		check(list, new int[]{1, 2, 3, 4, 5, 6}, "addAll from LinkedList");
+		check(other, new int[]{5, 6}, "addAll leaves its source as is");
+		
+		LinkedList<Integer> empty = new LinkedList<Integer>();
+		empty.addAll(new ArrayList<Integer>());
+		check(empty, new int[]{}, "addAll of nothing to empty list");
+	}
+	
+	/**
+	 * Checks transferFrom, which moves the nodes of its source.
+	 */
+	static void transferFrom() {
+		LinkedList<Integer> list = listOf(1, 2);
+		LinkedList<Integer> other = listOf(3, 4, 5);
+		list.transferFrom(other);
+		check(list, new int[]{1, 2, 3, 4, 5}, "transferFrom to non-empty list");
+		check(other, new int[]{}, "transferFrom empties its source");
+		other.add(9);
+		check(other, new int[]{9}, "source is usable after transferFrom");
+		
+		LinkedList<Integer> empty = new LinkedList<Integer>();
+		empty.transferFrom(listOf(7, 8));
+		check(empty, new int[]{7, 8}, "transferFrom to empty list");
+		
+		list.transferFrom(new LinkedList<Integer>());
+		check(list, new int[]{1, 2, 3, 4, 5}, "transferFrom of empty list");
+		
+		try {
+			list.transferFrom(list);
+			check(false, "transferFrom of a list into itself must throw");
+		} catch (IllegalArgumentException e) {
+		}
+		check(list, new int[]{1, 2, 3, 4, 5}, "failed transferFrom leaves list as is");
+	}
+	
+	/**
+	 * Checks removeIf, including removal of the last node and of all nodes.
+	 */
+	static void removeIf() {
+		LinkedList<Integer> list = listOf(1, 2, 3, 4, 6);
+		check(list.removeIf(EVEN), "removeIf returns true when it removes");
+		check(list, new int[]{1, 3}, "removeIf of evens, including the last item");
+		
+		check(!list.removeIf(EVEN), "removeIf returns false when it removes nothing");
+		check(list, new int[]{1, 3}, "removeIf that removes nothing");
+		
+		list = listOf(2, 4, 6);
+		check(list.removeIf(EVEN), "removeIf of all items returns true");
+		check(list, new int[]{}, "removeIf of all items");
+		
+		list = new LinkedList<Integer>();
+		check(!list.removeIf(EVEN), "removeIf on empty list returns false");
+		check(list, new int[]{}, "removeIf on empty list");
+	}
+	
+	/**
+	 * Checks drainTo, including a collection that throws part way.
+	 */
+	static void drainTo() {
+		LinkedList<Integer> list = listOf(1, 2, 3, 4, 5);
+		ArrayList<Integer> out = new ArrayList<Integer>();
+		check(list.drainTo(out, 2) == 2, "drainTo of 2 items returns 2");
+		check(out.size() == 2 && out.get(0) == 1 && out.get(1) == 2, "drainTo of 2 items adds them in order");
+		check(list, new int[]{3, 4, 5}, "drainTo of 2 items");
+		
+		check(list.drainTo(out, -1) == 0, "drainTo of a negative number of items returns 0");
+		check(list, new int[]{3, 4, 5}, "drainTo of a negative number of items");
+		
+		check(list.drainTo(out, 10) == 3, "drainTo of more items than there are returns size");
+		check(out.size() == 5 && out.get(4) == 5, "drainTo of all items adds them in order");
+		check(list, new int[]{}, "drainTo of all items");
+		
+		// a collection that takes two items, then throws
+		@SuppressWarnings("serial")
+		ArrayList<Integer> full = new ArrayList<Integer>() {
+			public boolean add(Integer item) {
+				if (size() == 2) {
+					throw new IllegalStateException("full");
+				}
+				return super.add(item);
+			}
+		};
+		list = listOf(1, 2, 3, 4);
+		try {
+			list.drainTo(full, 4);
+			check(false, "drainTo must pass on the collection's exception");
+		} catch (IllegalStateException e) {
+			if (e.getMessage().startsWith("FAILED")) {
+				throw e;
+			}
+		}
+		check(full.size() == 2, "collection took 2 items");
+		check(list, new int[]{3, 4}, "drainTo that throws keeps the items not added");
+		
+		list = listOf(1);
+		full.clear(); full.add(0); full.add(0);
+		try {
+			list.drainTo(full, 1);
+			check(false, "drainTo must pass on the collection's exception");
+		} catch (IllegalStateException e) {
+			if (e.getMessage().startsWith("FAILED")) {
+				throw e;
+			}
+		}
+		check(list, new int[]{1}, "drainTo that throws on the only item keeps it");
+	}
+	
+	/**
+	 * @param args Not used.
+	 */
+	public static void main(String[] args) {
+		addAll();
+		transferFrom();
+		removeIf();
+		drainTo();
+		System.out.println("All LinkedList checks passed");
+	}
+}
@@ -35,4 +35,11 @@ public class Neighbor {
 		}
 		return false;
 	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		return vertexNumber;
+	}
 }
@@ -1,6 +1,6 @@
 package structures.graph;
 
-import structures.linear.List;
+import structures.linear.LinkedHashList;
 
 /**
  * This class encapsulates a vertex by packaging together the client-supplied
@@ -17,9 +17,9 @@ public class Vertex<T> {
 	protected T info;         
 	
 	/**
-	 * Neighbors of this vertex.
+	 * Neighbors of this vertex, hash indexed so that edge lookups take expected O(1) time.
 	 */
-	protected List<Neighbor> neighbors;  
+	protected LinkedHashList<Neighbor> neighbors;  
 	
 	/**
 	 * Initializes a new instance with vertex information.
@@ -28,7 +28,7 @@ public class Vertex<T> {
 	 */
 	protected Vertex(T vertexInfo) {
 		info = vertexInfo;
-		neighbors = new List<Neighbor>();
+		neighbors = new LinkedHashList<Neighbor>();
 	}
 	
 	/* (non-Javadoc)
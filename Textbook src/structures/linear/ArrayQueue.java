@@ -0,0 +1,298 @@
+package structures.linear;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a generic FIFO queue in a growable circular array
+ * (ring buffer) whose capacity is always a power of two, so that wrapping an
+ * index around is a mask instead of a division. It has the same methods as
+ * Queue, but enqueue and dequeue do not allocate once the array is large enough.
+ * 
+ * @param <T> The type of objects to be stored in this queue.
+ */
+public class ArrayQueue<T> implements Iterable<T> {
+	
+	/**
+	 * Default initial capacity.
+	 */
+	static final int DEFAULT_CAPACITY = 16;
+	
+	/**
+	 * Items in this queue, stored in a circular array.
+	 */
+	Object[] items;
+	
+	/**
+	 * Index of the front of this queue in the items array.
+	 */
+	int front;
+	
+	/**
+	 * Number of items in this queue.
+	 */
+	int count;
+	
+	/**
+	 * Keeps track of current position when iterating over this queue using
+	 * the first( ) and next methods( ).
+	 */
+	int cursor;
+	
+	/**
+	 * Initializes this queue to empty, with default initial capacity.
+	 */
+	public ArrayQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Initializes this queue to empty, with room for at least the given number
+	 * of items before the array has to grow.
+	 * 
+	 * @param cap Initial capacity, rounded up to a power of two.
+	 * @throws IllegalArgumentException If cap is less than 0.
+	 */
+	public ArrayQueue(int cap) {
+		items = new Object[capacityFor(cap)];
+		front = 0;
+		count = 0;
+		cursor = -1;
+	}
+	
+	/**
+	 * Returns the smallest power of two that is at least the given capacity.
+	 * 
+	 * @param cap Requested capacity.
+	 * @return Power of two capacity, at least 2.
+	 */
+	static int capacityFor(int cap) {
+		if (cap < 0) {
+			throw new IllegalArgumentException("cap < 0");
+		}
+		int n = 2;
+		while (n < cap) {
+			n <<= 1;
+		}
+		return n;
+	}
+	
+	/**
+	 * Returns the item at a given position from the front of this queue.
+	 * 
+	 * @param pos Position from the front.
+	 * @return Item at that position.
+	 */
+	@SuppressWarnings("unchecked")
+	T itemAt(int pos) {
+		return (T)items[(front + pos) & (items.length-1)];
+	}
+	
+	/**
+	 * Doubles the capacity of the items array, unwrapping the items so that the
+	 * front is at index 0.
+	 */
+	void grow() {
+		Object[] bigger = new Object[items.length << 1];
+		int mask = items.length-1;
+		for (int i=0; i < count; i++) {
+			bigger[i] = items[(front + i) & mask];
+		}
+		items = bigger;
+		front = 0;
+	}
+	
+	/**
+	 * Enqueues a given item into this queue by adding to the end.
+	 * 
+	 * @param item Item to be enqueued.
+	 */
+	public void enqueue(T item) {
+		if (count == items.length) {
+			grow();
+		}
+		items[(front + count) & (items.length-1)] = item;
+		count++;
+	}
+	
+	/**
+	 * Dequeues from this queue by deleting and returning the item at the front.
+	 * 
+	 * @return Dequeued item.
+	 * @throws NoSuchElementException If this queue is empty.
+	 */
+	public T dequeue() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		T item = itemAt(0);
+		items[front] = null;  // let go of the reference
+		front = (front + 1) & (items.length-1);
+		count--;
+		return item;
+	}
+	
+	/**
+	 * Returns the number of items in this queue.
+	 * 
+	 * @return Number of items in this queue.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this queue is empty or not.
+	 * 
+	 * @return True if this queue is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Returns the position of a given item from the front of this queue.
+	 * Front of the queue is position 0.
+	 * 
+	 * @param item Item for which position is to be found.
+	 * @return Position of item, -1 if item is not in this queue.
+	 */
+	public int positionOf(T item) {
+		for (int i=0; i < count; i++) {
+			if (item.equals(itemAt(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Empties this queue by removing all items.
+	 */
+	public void clear() {
+		int mask = items.length-1;
+		for (int i=0; i < count; i++) {
+			items[(front + i) & mask] = null;
+		}
+		front = 0;
+		count = 0;
+	}
+	
+	/**
+	 * Removes the item at a given position from the front, closing the gap by
+	 * moving up the items behind it.
+	 * 
+	 * @param pos Position of item to be removed.
+	 */
+	void removeAt(int pos) {
+		int mask = items.length-1;
+		for (int i=pos; i < count-1; i++) {
+			items[(front + i) & mask] = items[(front + i + 1) & mask];
+		}
+		items[(front + count - 1) & mask] = null;
+		count--;
+	}
+	
+	/**
+	 * Removes the first occurrence (from the front) of a given item from this queue.
+	 * 
+	 * @param item Item to be removed.
+	 * @throws NoSuchElementException If this queue does not contain the given item.
+	 */
+	public void remove(T item) {
+		int pos = positionOf(item);
+		if (pos == -1) {
+			throw new NoSuchElementException();
+		}
+		removeAt(pos);
+	}
+	
+	/**
+	 * Removes all occurrences of a given item from this queue, in a single pass.
+	 * 
+	 * @param item Item for which all instances are to be removed.
+	 * @throws NoSuchElementException If this queue does not contain the given item.
+	 */
+	public void removeAll(T item) {
+		int mask = items.length-1;
+		int kept = 0;
+		for (int i=0; i < count; i++) {
+			Object curr = items[(front + i) & mask];
+			if (!item.equals(curr)) {
+				items[(front + kept) & mask] = curr;
+				kept++;
+			}
+		}
+		if (kept == count) { // no match
+			throw new NoSuchElementException();
+		}
+		for (int i=kept; i < count; i++) {
+			items[(front + i) & mask] = null;
+		}
+		count = kept;
+	}
+	
+	/**
+	 * Returns the first item in this queue, and sets the iteration cursor to the
+	 * first position.
+	 * 
+	 * @return First item in this queue, null if queue is empty.
+	 */
+	public T first() {
+		if (count == 0) {
+			return null;
+		}
+		cursor = 0;
+		return itemAt(cursor);
+	}
+	
+	/**
+	 * Sets the cursor to the next position, and returns the item in this queue at
+	 * that position. <br> To iterate over this queue, there
+	 * must be a call to first( ), followed by successive calls to next( ).
+	 * 
+	 * @return Next item in this queue. Null if queue is empty, or cursor is at the
+	 *         end of the queue at the time this method is called, i.e. end of queue was
+	 *         reached.
+	 */
+	public T next() {
+		if (cursor < 0 || cursor >= (count-1)) {
+			return null;
+		}
+		cursor++;
+		return itemAt(cursor);
+	}
+	
+	/**
+	 * Returns an iterator over the items in this queue, front to back.
+	 * 
+	 * @return Iterator over the items in this queue.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			int pos = 0;
+			int last = -1;
+			
+			public boolean hasNext() {
+				return pos < count;
+			}
+			
+			public T next() {
+				if (pos >= count) {
+					throw new NoSuchElementException();
+				}
+				last = pos;
+				return itemAt(pos++);
+			}
+			
+			public void remove() {
+				if (last < 0) {
+					throw new IllegalStateException();
+				}
+				removeAt(last);
+				pos = last;
+				last = -1;
+			}
+		};
+	}
+}
@@ -0,0 +1,195 @@
+package structures.linear;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a generic LIFO stack in a growable array. The top of the
+ * stack is at the end of the array, so push and pop take amortized O(1) time
+ * and do not allocate once the array is large enough. It has the same methods
+ * as Stack. 
+ * 
+ * @param <T> The type of objects to be stored in this stack.
+ */
+public class ArrayStack<T> implements Iterable<T> {
+	
+	/**
+	 * Default initial capacity.
+	 */
+	static final int DEFAULT_CAPACITY = 16;
+	
+	/**
+	 * Items in this stack, bottom at index 0, top at index count-1.
+	 */
+	Object[] items;
+	
+	/**
+	 * Number of items in this stack.
+	 */
+	int count;
+	
+	/**
+	 * Keeps track of current position when iterating over this stack using
+	 * the first( ) and next methods( ). Position 0 is the top.
+	 */
+	int cursor;
+	
+	/**
+	 * Initializes this stack to empty, with default initial capacity.
+	 */
+	public ArrayStack() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Initializes this stack to empty, with given initial capacity.
+	 * 
+	 * @param cap Initial capacity.
+	 * @throws IllegalArgumentException If cap is less than 0.
+	 */
+	public ArrayStack(int cap) {
+		if (cap < 0) {
+			throw new IllegalArgumentException("cap < 0");
+		}
+		items = new Object[Math.max(cap, 1)];
+		count = 0;
+		cursor = -1;
+	}
+	
+	/**
+	 * Returns the item at a given position from the top of this stack.
+	 * 
+	 * @param pos Position from the top.
+	 * @return Item at that position.
+	 */
+	@SuppressWarnings("unchecked")
+	T itemAt(int pos) {
+		return (T)items[count-1-pos];
+	}
+	
+	/**
+	 *  Pushes a given item on this stack by adding to the top.
+	 * 
+	 * @param item Item to be pushed.
+	 */
+	public void push(T item) {
+		if (count == items.length) {
+			Object[] bigger = new Object[items.length << 1];
+			System.arraycopy(items, 0, bigger, 0, count);
+			items = bigger;
+		}
+		items[count++] = item;
+	}
+	
+	/**
+	 * Pops from this stack by deleting and returning the item at the top.
+	 * 
+	 * @return Popped item.
+	 * @throws NoSuchElementException If this stack is empty.
+	 */
+	public T pop() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		T item = itemAt(0);
+		items[--count] = null;  // let go of the reference
+		return item;
+	}
+	
+	/**
+	 * Returns the number of items in this stack.
+	 * 
+	 * @return Number of items in this stack.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this stack is empty or not.
+	 * 
+	 * @return True if this stack is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Empties this stack by removing all items.
+	 */
+	public void clear() {
+		for (int i=0; i < count; i++) {
+			items[i] = null;
+		}
+		count = 0;
+	}
+	
+	/**
+	 * Returns the item at the top of this stack, and sets the iteration cursor to the 
+	 * top position. 
+	 * 
+	 * @return Item at the top of this stack, null if stack is empty.
+	 */
+	public T first() {
+		if (count == 0) {
+			return null;
+		}
+		cursor = 0;
+		return itemAt(cursor);
+	}
+	
+	/**
+	 * Sets the cursor to the next position, and returns the item in this stack at
+	 * that position. <br> To iterate over this stack, there
+	 * must be a call to first( ), followed by successive calls to next( ).
+	 * 
+	 * @return Next item in this stack. Null if stack is empty, or cursor is at the 
+	 *         bottom of the stack at the time this method is called, i.e. end of stack was
+	 *         reached. 
+	 */
+	public T next() {
+		if (cursor < 0 || cursor >= (count-1)) {
+			return null;
+		}
+		cursor++;
+		return itemAt(cursor);
+	}
+	
+	/**
+	 * Returns an iterator over the items in this stack, top to bottom. Its remove
+	 * method shifts the items above the removed one down, so it takes time
+	 * proportional to the number of items already iterated over.
+	 * 
+	 * @return Iterator over the items in this stack.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			int pos = 0;
+			boolean canRemove = false;
+			
+			public boolean hasNext() {
+				return pos < count;
+			}
+			
+			public T next() {
+				if (pos >= count) {
+					throw new NoSuchElementException();
+				}
+				canRemove = true;
+				return itemAt(pos++);
+			}
+			
+			public void remove() {
+				if (!canRemove) {
+					throw new IllegalStateException();
+				}
+				// shift the items above the one last returned down by one
+				int index = count - pos;
+				System.arraycopy(items, index+1, items, index, count-1-index);
+				items[--count] = null;  // let go of the reference
+				pos--;
+				canRemove = false;
+			}
+		};
+	}
+}
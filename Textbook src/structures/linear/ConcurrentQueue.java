@@ -0,0 +1,364 @@
+package structures.linear;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class implements a generic FIFO queue that can be shared by any number of
+ * threads without locking, using the linked queue algorithm of Michael and Scott.
+ * The front of the queue is a dummy node, and enqueue and dequeue each finish with
+ * a single compare-and-set on the tail or the front, retrying if another thread got
+ * there first. It has the same methods as Queue. Removal of an item from the middle
+ * of the queue is logical: the item in its node is set to null, and the node is
+ * skipped and let go of when it gets to the front.
+ * <p>
+ * Iteration, whether with first( ) and next( ) or with an iterator, is weakly
+ * consistent: it never fails because of changes made by other threads, and it may
+ * or may not see them. The first( )/next( ) cursor is shared by all threads, so
+ * it should be used by one thread at a time.
+ * 
+ * @param <T> The type of objects to be stored in this queue.
+ */
+public class ConcurrentQueue<T> implements Iterable<T> {
+	
+	/**
+	 * A node of the underlying linked list. Both the item and the link to the next
+	 * node may be changed by other threads, so they are atomic references.
+	 */
+	static class QNode<T> {
+		
+		/**
+		 * Item in this node, null for the dummy node and for removed items.
+		 */
+		final AtomicReference<T> item;
+		
+		/**
+		 * Next node, null if this is the last node.
+		 */
+		final AtomicReference<QNode<T>> next;
+		
+		/**
+		 * Initializes a node with a given item and no next node.
+		 * 
+		 * @param data Item to be stored.
+		 */
+		QNode(T data) {
+			item = new AtomicReference<T>(data);
+			next = new AtomicReference<QNode<T>>(null);
+		}
+	}
+	
+	/**
+	 * Dummy node at the front. The first item, if any, is in the node after it.
+	 */
+	final AtomicReference<QNode<T>> head;
+	
+	/**
+	 * Last node, or a node close to it if another thread is in the middle of an enqueue.
+	 */
+	final AtomicReference<QNode<T>> tail;
+	
+	/**
+	 * Number of items in this queue.
+	 */
+	final AtomicInteger count;
+	
+	/**
+	 * Node at the current position when iterating over this queue using
+	 * the first( ) and next methods( ). 
+	 */
+	volatile QNode<T> cursorNode;
+	
+	/**
+	 * Initializes this queue to empty.
+	 */
+	public ConcurrentQueue() {
+		QNode<T> dummy = new QNode<T>(null);
+		head = new AtomicReference<QNode<T>>(dummy);
+		tail = new AtomicReference<QNode<T>>(dummy);
+		count = new AtomicInteger(0);
+		cursorNode = null;
+	}
+	
+	/**
+	 * Enqueues a given item into this queue by adding to the end.
+	 * 
+	 * @param item Item to be enqueued.
+	 * @throws IllegalArgumentException If item is null.
+	 */
+	public void enqueue(T item) {
+		if (item == null) {
+			throw new IllegalArgumentException("null item");
+		}
+		QNode<T> node = new QNode<T>(item);
+		// count the item before it can be taken, so that the count never drops below
+		// the number of items that are in the queue
+		count.incrementAndGet();
+		while (true) {
+			QNode<T> last = tail.get();
+			QNode<T> after = last.next.get();
+			if (after == null) {
+				// link the new node after the last, then try to swing the tail to it
+				if (last.next.compareAndSet(null, node)) {
+					tail.compareAndSet(last, node);
+					return;
+				}
+			} else {
+				// another enqueue is half done, help it along
+				tail.compareAndSet(last, after);
+			}
+		}
+	}
+	
+	/**
+	 * Deletes and returns the item at the front of this queue, if there is one.
+	 * 
+	 * @return Item at the front, null if this queue is empty.
+	 */
+	public T poll() {
+		while (true) {
+			QNode<T> first = head.get();
+			QNode<T> last = tail.get();
+			QNode<T> after = first.next.get();
+			if (after == null) {
+				return null;
+			}
+			if (first == last) {
+				// tail is lagging behind, help it along
+				tail.compareAndSet(last, after);
+				continue;
+			}
+			if (head.compareAndSet(first, after)) {
+				// after is now the dummy node; take its item unless it was removed
+				T item = after.item.getAndSet(null);
+				if (item != null) {
+					count.decrementAndGet();
+					return item;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Dequeues from this queue by deleting and returning the item at the front.
+	 * 
+	 * @return Dequeued item.
+	 * @throws NoSuchElementException If this queue is empty.
+	 */
+	public T dequeue() {
+		T item = poll();
+		if (item == null) {
+			throw new NoSuchElementException();
+		}
+		return item;
+	}
+	
+	/**
+	 * Returns the number of items in this queue. If other threads are changing the
+	 * queue, this is only an estimate: an item is counted from the start of its
+	 * enqueue, so it may be counted before it can be dequeued, but the count is never
+	 * less than the number of items that can be dequeued, and never negative.
+	 * 
+	 * @return Number of items in this queue.
+	 */
+	public int size() {
+		return count.get();
+	}
+	
+	/**
+	 * Tells whether this queue is empty or not. If other threads are changing the
+	 * queue, this may return false while an enqueue is still under way, in which case
+	 * poll may return null; it returns true only if no item could be dequeued.
+	 * 
+	 * @return True if this queue is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count.get() == 0;
+	}
+	
+	/**
+	 * Returns the position of a given item from the front of this queue.
+	 * Front of the queue is position 0.
+	 * 
+	 * @param item Item for which position is to be found.
+	 * @return Position of item, -1 if item is not in this queue.
+	 */
+	public int positionOf(T item) {
+		int pos = 0;
+		for (QNode<T> ptr=head.get().next.get(); ptr != null; ptr=ptr.next.get()) {
+			T curr = ptr.item.get();
+			if (curr != null) {
+				if (item.equals(curr)) {
+					return pos;
+				}
+				pos++;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Empties this queue by removing all items.
+	 */
+	public void clear() {
+		while (poll() != null);
+	}
+	
+	/**
+	 * Removes the item in a given node, if another thread has not already taken it.
+	 * 
+	 * @param node Node whose item is to be removed.
+	 * @param item Item that is expected to be in the node.
+	 * @return True if the item was removed by this call, false otherwise.
+	 */
+	boolean unlink(QNode<T> node, T item) {
+		if (node.item.compareAndSet(item, null)) {
+			count.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes the first occurrence (from the front) of a given item from this queue.
+	 * 
+	 * @param item Item to be removed.
+	 * @throws NoSuchElementException If this queue does not contain the given item.
+	 */
+	public void remove(T item) {
+		for (QNode<T> ptr=head.get().next.get(); ptr != null; ptr=ptr.next.get()) {
+			T curr = ptr.item.get();
+			if (curr != null && item.equals(curr) && unlink(ptr, curr)) {
+				return;
+			}
+		}
+		throw new NoSuchElementException();
+	}
+	
+	/**
+	 * Removes all occurrences of a given item from this queue.
+	 * 
+	 * @param item Item for which all instances are to be removed.
+	 * @throws NoSuchElementException If this queue does not contain the given item.
+	 */
+	public void removeAll(T item) {
+		boolean found = false;
+		for (QNode<T> ptr=head.get().next.get(); ptr != null; ptr=ptr.next.get()) {
+			T curr = ptr.item.get();
+			if (curr != null && item.equals(curr) && unlink(ptr, curr)) {
+				found = true;
+			}
+		}
+		if (!found) {
+			throw new NoSuchElementException();
+		}
+	}
+	
+	/**
+	 * Returns the first node at or after a given node that holds an item.
+	 * 
+	 * @param ptr Node to start at.
+	 * @return First node with an item, null if there is none.
+	 */
+	QNode<T> live(QNode<T> ptr) {
+		while (ptr != null && ptr.item.get() == null) {
+			ptr = ptr.next.get();
+		}
+		return ptr;
+	}
+	
+	/**
+	 * Returns the first item in this queue, and sets the iteration cursor to the 
+	 * first position. 
+	 * 
+	 * @return First item in this queue, null if queue is empty.
+	 */
+	public T first() {
+		return advance(head.get().next.get());
+	}
+	
+	/**
+	 * Sets the cursor to the next position, and returns the item in this queue at
+	 * that position. <br> To iterate over this queue, there
+	 * must be a call to first( ), followed by successive calls to next( ).
+	 * 
+	 * @return Next item in this queue. Null if queue is empty, or cursor is at the 
+	 *         end of the queue at the time this method is called, i.e. end of queue was
+	 *         reached. 
+	 */
+	public T next() {
+		QNode<T> curr = cursorNode;
+		if (curr == null) {
+			return null;
+		}
+		return advance(curr.next.get());
+	}
+	
+	/**
+	 * Moves the cursor to the first node at or after a given node that holds an
+	 * item, and returns that item.
+	 * 
+	 * @param ptr Node to start at.
+	 * @return Item at the new cursor position, null if the end was reached.
+	 */
+	T advance(QNode<T> ptr) {
+		while (true) {
+			ptr = live(ptr);
+			cursorNode = ptr;
+			if (ptr == null) {
+				return null;
+			}
+			T item = ptr.item.get();
+			if (item != null) {
+				return item;
+			}
+			// removed since live( ) looked at it
+			ptr = ptr.next.get();
+		}
+	}
+	
+	/**
+	 * Returns a weakly consistent iterator over the items in this queue, front to back.
+	 * Its remove( ) method removes the last item returned, if it is still in the queue.
+	 * 
+	 * @return Iterator over the items in this queue.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			QNode<T> nextNode = live(head.get().next.get());
+			T nextItem = nextNode == null ? null : nextNode.item.get();
+			QNode<T> lastNode = null;
+			T lastItem = null;
+			
+			public boolean hasNext() {
+				return nextItem != null;
+			}
+			
+			public T next() {
+				if (nextItem == null) {
+					throw new NoSuchElementException();
+				}
+				lastNode = nextNode;
+				lastItem = nextItem;
+				// look ahead so that hasNext( ) agrees with the item next( ) returns
+				nextItem = null;
+				nextNode = live(nextNode.next.get());
+				while (nextNode != null && (nextItem = nextNode.item.get()) == null) {
+					nextNode = live(nextNode.next.get());
+				}
+				return lastItem;
+			}
+			
+			public void remove() {
+				if (lastNode == null) {
+					throw new IllegalStateException();
+				}
+				unlink(lastNode, lastItem);
+				lastNode = null;
+				lastItem = null;
+			}
+		};
+	}
+}
@@ -0,0 +1,62 @@
+package structures.linear;
+
+/**
+ * This class implements the nodes of a DoublyLinkedList. Nodes are handed out
+ * by the list when items are added, and can be given back to the list to
+ * unlink the item in O(1) time, without searching for it.
+ * 
+ * @param <T> The type of objects stored in this node
+ */
+public class DLLNode<T> {
+	
+	/**
+	 * Data
+	 */
+	T data;
+	
+	/**
+	 * Previous reference
+	 */
+	DLLNode<T> prev;
+	
+	/**
+	 * Next reference
+	 */
+	DLLNode<T> next;
+	
+	/**
+	 * List that this node is in, null once the node has been unlinked.
+	 */
+	DoublyLinkedList<T> owner;
+	
+	/**
+	 * Initializes node with given data, null references, and owning list.
+	 * 
+	 * @param dat Data
+	 * @param list List that the node will be linked into
+	 */
+	DLLNode(T dat, DoublyLinkedList<T> list) {
+		data = dat;
+		prev = null;
+		next = null;
+		owner = list;
+	}
+	
+	/**
+	 * Returns the data at this node.
+	 * 
+	 * @return Data at this node.
+	 */
+	public T getData() {
+		return data;
+	}
+	
+	/**
+	 * Tells whether this node is still linked into a list.
+	 * 
+	 * @return True if this node is in a list, false if it has been unlinked.
+	 */
+	public boolean isLinked() {
+		return owner != null;
+	}
+}
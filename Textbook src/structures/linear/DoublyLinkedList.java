@@ -0,0 +1,351 @@
+package structures.linear;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a generic circular doubly linked list (CDLL), indexed by
+ * its tail node. Unlike LinkedList, add returns the node that holds the new item,
+ * and a client that keeps this node can later remove the item with unlink in
+ * O(1) time, instead of with remove, which searches for the item. Index-based
+ * access walks from whichever end of the list is nearer.
+ * 
+ * @param <T> The type of objects to be stored in this CDLL.
+ */
+public class DoublyLinkedList<T> implements Iterable<T> {
+	
+	/**
+	 * Reference to the last node of this CDLL
+	 */
+	DLLNode<T> tail;
+	
+	/**
+	 * Number of nodes in this CDLL.
+	 */
+	int count;
+	
+	/**
+	 * Initializes this CDLL to empty.
+	 */
+	public DoublyLinkedList() {
+		tail = null;
+		count = 0;
+	}
+	
+	/**
+	 * Links a given node into this CDLL right after a given predecessor node, or
+	 * as the only node if this CDLL is empty.
+	 * 
+	 * @param node Node to be linked.
+	 * @param pred Predecessor node, ignored if this CDLL is empty.
+	 */
+	void linkAfter(DLLNode<T> node, DLLNode<T> pred) {
+		if (count == 0) {
+			node.next = node;
+			node.prev = node;
+		} else {
+			node.next = pred.next;
+			node.prev = pred;
+			pred.next.prev = node;
+			pred.next = node;
+		}
+		count++;
+	}
+	
+	/**
+	 * Adds a new item to the end of this CDLL.
+	 * 
+	 * @param item The item to be added to the end of this CDLL.
+	 * @return The node that holds the item, which may be used to unlink it.
+	 */
+	public DLLNode<T> add(T item) {
+		DLLNode<T> itemnode = new DLLNode<T>(item, this);
+		linkAfter(itemnode, tail);
+		tail = itemnode;
+		return itemnode;
+	}
+	
+	/**
+	 * Inserts a new item at a given index in this CDLL. 
+	 * 
+	 * @param item Item to be inserted.
+	 * @param index Index of inserted item.
+	 * @return The node that holds the item, which may be used to unlink it.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this CDLL.
+	 */
+	public DLLNode<T> insertAt(T item, int index) {
+		DLLNode<T> succ = nodeAt(index);
+		DLLNode<T> itemnode = new DLLNode<T>(item, this);
+		linkAfter(itemnode, succ.prev);
+		return itemnode;
+	}
+	
+	/**
+	 * Unlinks a given node from this CDLL in O(1) time.
+	 * 
+	 * @param node Node to be unlinked, as returned by add or insertAt.
+	 * @return The item that was held in the node.
+	 * @throws NoSuchElementException If the node is not in this CDLL, e.g. because it
+	 *         has already been unlinked.
+	 */
+	public T unlink(DLLNode<T> node) {
+		if (node == null || node.owner != this) {
+			throw new NoSuchElementException();
+		}
+		if (count == 1) { // single element, special case
+			tail = null;
+		} else {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			if (node == tail) {
+				tail = node.prev;
+			}
+		}
+		count--;
+		node.next = null;
+		node.prev = null;
+		node.owner = null;
+		return node.data;
+	}
+	
+	/**
+	 * Removes the first occurrence of a given item from this CDLL.
+	 * 
+	 * @param item Item to be removed.
+	 * @throws NoSuchElementException If this CDLL does not contain the given item.
+	 */
+	public void remove(T item) {
+		DLLNode<T> node = nodeOf(item);
+		if (node == null) {
+			throw new NoSuchElementException();
+		}
+		unlink(node);
+	}
+	
+	/**
+	 * Removes the item at a given index.
+	 * 
+	 * @param index Index of item to be removed.
+	 * @return The removed item.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this CDLL.
+	 */
+	public T removeAt(int index) {
+		return unlink(nodeAt(index));
+	}
+	
+	/**
+	 * Removes all occurrences of a given item from this CDLL, in a single pass.
+	 * 
+	 * @param item The item, all instances of which are to be removed from this CDLL.
+	 * @throws NoSuchElementException If this CDLL does not contain the given item.
+	 */
+	public void removeAll(T item) {
+		int oldcount = count;
+		DLLNode<T> curr = firstNode();
+		while (curr != null) {
+			DLLNode<T> next = nextNode(curr);
+			if (item.equals(curr.data)) {
+				unlink(curr);
+			}
+			curr = next;
+		}
+		if (count == oldcount) { // no match
+			throw new NoSuchElementException();
+		}
+	}
+	
+	/**
+	 * Empties this CDLL by removing all items. Nodes held by clients are marked as
+	 * unlinked, so they cannot be used to unlink from this CDLL later.
+	 */
+	public void clear() {
+		DLLNode<T> curr = firstNode();
+		while (curr != null) {
+			DLLNode<T> next = nextNode(curr);
+			curr.next = null;
+			curr.prev = null;
+			curr.owner = null;
+			curr = next;
+		}
+		tail = null;
+		count = 0;
+	}
+	
+	/**
+	 * Replaces the item in this CDLL at a given index by a given item.
+	 * 
+	 * @param item Item that replaces existing item.
+	 * @param index Index at which replacement is done.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this CDLL.
+	 */
+	public void setAt(T item, int index) {
+		nodeAt(index).data = item;
+	}
+	
+	/**
+	 * Returns the item at the specified index in this CDLL.
+	 * 
+	 * @param index Position in this CDLL from which item is to be returned.
+	 * @return Item at specified index.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this CDLL.
+	 */
+	public T getAt(int index) {
+		return nodeAt(index).data;
+	}
+	
+	/**
+	 * Returns the node at the specified index in this CDLL, walking forward from
+	 * the front or backward from the tail, whichever is nearer.
+	 * 
+	 * @param index Position in this CDLL of the node to be returned.
+	 * @return Node at specified index.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this CDLL.
+	 */
+	public DLLNode<T> nodeAt(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException(index + " < 0 or >= " + count);
+		}
+		DLLNode<T> curr;
+		if (index < count/2) { // nearer the front
+			curr = tail.next;
+			for (int i=0; i < index; i++) {
+				curr = curr.next;
+			}
+		} else { // nearer the tail
+			curr = tail;
+			for (int i=count-1; i > index; i--) {
+				curr = curr.prev;
+			}
+		}
+		return curr;
+	}
+	
+	/**
+	 * Returns the node that holds the first occurrence of a given item.
+	 * 
+	 * @param item Item for which node is to be found.
+	 * @return Node that holds the item, null if the item is not in this CDLL.
+	 */
+	public DLLNode<T> nodeOf(T item) {
+		DLLNode<T> curr = firstNode();
+		while (curr != null) {
+			if (item.equals(curr.data)) {
+				return curr;
+			}
+			curr = nextNode(curr);
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the index of a given item in this CDLL.
+	 * 
+	 * @param item Item for which index is to be found.
+	 * @return Index of the given item, -1 if the item is not in this CDLL.
+	 */
+	public int indexOf(T item) {
+		DLLNode<T> curr = firstNode();
+		for (int i=0; curr != null; i++) {
+			if (item.equals(curr.data)) {
+				return i;
+			}
+			curr = nextNode(curr);
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the first node of this CDLL.
+	 * 
+	 * @return First node, null if this CDLL is empty.
+	 */
+	public DLLNode<T> firstNode() {
+		return count == 0 ? null : tail.next;
+	}
+	
+	/**
+	 * Returns the last node of this CDLL.
+	 * 
+	 * @return Last node, null if this CDLL is empty.
+	 */
+	public DLLNode<T> lastNode() {
+		return tail;
+	}
+	
+	/**
+	 * Returns the node that follows a given node in this CDLL.
+	 * 
+	 * @param node Node in this CDLL.
+	 * @return Next node, null if the given node is the last node.
+	 */
+	public DLLNode<T> nextNode(DLLNode<T> node) {
+		return node == tail ? null : node.next;
+	}
+	
+	/**
+	 * Returns the node that precedes a given node in this CDLL.
+	 * 
+	 * @param node Node in this CDLL.
+	 * @return Previous node, null if the given node is the first node.
+	 */
+	public DLLNode<T> prevNode(DLLNode<T> node) {
+		return node == tail.next ? null : node.prev;
+	}
+	
+	/**
+	 * Returns the number of nodes in this CDLL.
+	 * 
+	 * @return Number of nodes in this CDLL.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this CDLL is empty or not.
+	 * 
+	 * @return True if this CDLL is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this CDLL, front to back. Removing
+	 * through the iterator unlinks the current node in O(1) time.
+	 * 
+	 * @return Iterator over the items in this CDLL.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			DLLNode<T> nextnode = firstNode();
+			DLLNode<T> last = null;
+			
+			public boolean hasNext() {
+				return nextnode != null;
+			}
+			
+			public T next() {
+				if (nextnode == null) {
+					throw new NoSuchElementException();
+				}
+				last = nextnode;
+				nextnode = nextNode(nextnode);
+				return last.data;
+			}
+			
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				unlink(last);
+				last = null;
+			}
+		};
+	}
+}
@@ -0,0 +1,124 @@
+package structures.linear;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a LIFO stack of primitive floats in a growable array. It is
+ * the float specialization of ArrayStack: items are not boxed, so push and pop do
+ * not allocate once the array is large enough. Since there is no null float to
+ * signal the end of an iteration, items are enumerated by position with get( )
+ * instead of with first( ) and next( ).
+ */
+public class FloatStack {
+	
+	/**
+	 * Items in this stack, bottom at index 0, top at index count-1.
+	 */
+	float[] items;
+	
+	/**
+	 * Number of items in this stack.
+	 */
+	int count;
+	
+	/**
+	 * Initializes this stack to empty, with default initial capacity.
+	 */
+	public FloatStack() {
+		this(ArrayStack.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Initializes this stack to empty, with given initial capacity.
+	 * 
+	 * @param cap Initial capacity.
+	 * @throws IllegalArgumentException If cap is less than 0.
+	 */
+	public FloatStack(int cap) {
+		if (cap < 0) {
+			throw new IllegalArgumentException("cap < 0");
+		}
+		items = new float[Math.max(cap, 1)];
+		count = 0;
+	}
+	
+	/**
+	 *  Pushes a given item on this stack by adding to the top.
+	 * 
+	 * @param item Item to be pushed.
+	 */
+	public void push(float item) {
+		if (count == items.length) {
+			float[] bigger = new float[items.length << 1];
+			System.arraycopy(items, 0, bigger, 0, count);
+			items = bigger;
+		}
+		items[count++] = item;
+	}
+	
+	/**
+	 * Pops from this stack by deleting and returning the item at the top.
+	 * 
+	 * @return Popped item.
+	 * @throws NoSuchElementException If this stack is empty.
+	 */
+	public float pop() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		return items[--count];
+	}
+	
+	/**
+	 * Returns the item at the top of this stack without removing it.
+	 * 
+	 * @return Item at the top of this stack.
+	 * @throws NoSuchElementException If this stack is empty.
+	 */
+	public float top() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		return items[count-1];
+	}
+	
+	/**
+	 * Returns the item at a given position from the top of this stack, without
+	 * removing it. The top of the stack is position 0.
+	 * 
+	 * @param pos Position of item.
+	 * @return Item at given position.
+	 * @throws IndexOutOfBoundsException If pos is < 0 or >= size of this stack.
+	 */
+	public float get(int pos) {
+		if (pos < 0 || pos >= count) {
+			throw new IndexOutOfBoundsException(pos + " < 0 or >= " + count);
+		}
+		return items[count-1-pos];
+	}
+	
+	/**
+	 * Returns the number of items in this stack.
+	 * 
+	 * @return Number of items in this stack.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this stack is empty or not.
+	 * 
+	 * @return True if this stack is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Empties this stack by removing all items.
+	 */
+	public void clear() {
+		count = 0;
+	}
+}
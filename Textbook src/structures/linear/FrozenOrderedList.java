@@ -0,0 +1,142 @@
+package structures.linear;
+
+/**
+ * This class implements a read-only snapshot of an ordered list, for lists that
+ * are searched much more often than they are changed. The items are laid out in
+ * Eytzinger (breadth-first) order: the middle item is at position 1, and the
+ * children of the item at position k are at positions 2k and 2k+1, as in a heap.
+ * A search walks down this implicit tree, so the items it compares against early
+ * on sit next to each other at the front of the array, and each step picks the
+ * next position arithmetically instead of branching on the comparison. A snapshot
+ * is made with OrderedList.freeze( ), and later changes to the list are not seen
+ * by it. 
+ * 
+ * @param <T> The type of objects stored in this list
+ */
+public class FrozenOrderedList<T extends Comparable<T>> {
+	
+	/**
+	 * Items in Eytzinger order, in positions 1 through n. Position 0 is unused.
+	 */
+	Object[] tree;
+	
+	/**
+	 * For every position in tree, the position of the same item in sorted order.
+	 */
+	int[] rank;
+	
+	/**
+	 * For every position in sorted order, the position of the same item in tree.
+	 */
+	int[] slot;
+	
+	/**
+	 * Number of items.
+	 */
+	int n;
+	
+	/**
+	 * Initializes a snapshot of a given ordered list.
+	 * 
+	 * @param list The list.
+	 */
+	FrozenOrderedList(OrderedList<T> list) {
+		n = list.size();
+		tree = new Object[n+1];
+		rank = new int[n+1];
+		slot = new int[n];
+		fill(list, 0, 1);
+	}
+	
+	/**
+	 * Fills the subtree rooted at a given tree position with the items of the list
+	 * in sorted order, starting at a given sorted position, by an inorder walk.
+	 * 
+	 * @param list The list.
+	 * @param pos Sorted position of the next item to be placed.
+	 * @param k Tree position of the subtree root.
+	 * @return Sorted position of the next item to be placed after this subtree.
+	 */
+	int fill(OrderedList<T> list, int pos, int k) {
+		if (k <= n) {
+			pos = fill(list, pos, 2*k);
+			tree[k] = list.elements.get(pos);
+			rank[k] = pos;
+			slot[pos] = k;
+			pos = fill(list, pos+1, 2*k+1);
+		}
+		return pos;
+	}
+	
+	/**
+	 * Returns the number of items in this list.
+	 * 
+	 * @return Number of items in this list.
+	 */
+	public int size() {
+		return n;
+	}
+	
+	/**
+	 * Tells whether this list is empty or not.
+	 * 
+	 * @return True if list is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return n == 0;
+	}
+	
+	/**
+	 * Returns the item at a given position (in sorted order) in this list.
+	 * 
+	 * @param pos Position in list.
+	 * @return Item at given position.
+	 * @throws IndexOutOfBoundsException If pos < 0 or >= size of list.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int pos) {
+		if (pos < 0 || pos >= n) {
+			throw new IndexOutOfBoundsException("pos < 0 or >= " + n);
+		}
+		return (T)tree[slot[pos]];
+	}
+	
+	/**
+	 * Searches for a given item in this list, and returns its position in sorted order.
+	 * The result is the same as that of OrderedList.binarySearch on the list from
+	 * which this snapshot was made.
+	 * 
+	 * @param item Item to be searched.
+	 * @return Position of item, if match found. If there is no match, returns
+	 * 			<em>pos</em>, where -<em>pos</em>-1 would be its position, <b>if it
+	 * 			were to be inserted into the list.</b>   	
+	 */
+	@SuppressWarnings("unchecked")
+	public int binarySearch(T item) {
+		// descend to a leaf, going right past every item that is less than the key
+		int k = 1;
+		while (k <= n) {
+			k = 2*k + (((T)tree[k]).compareTo(item) < 0 ? 1 : 0);
+		}
+		
+		// the last left turn was at the smallest item >= key; undo the right 
+		// turns after it, and that turn itself
+		k >>= Integer.numberOfTrailingZeros(~k) + 1;
+		
+		if (k == 0) { // all items are less than the key
+			return -(n+1);
+		}
+		int pos = rank[k];
+		return item.compareTo((T)tree[k]) == 0 ? pos : -(pos+1);
+	}
+	
+	/**
+	 * Tells whether this list contains a given item.
+	 * 
+	 * @param item Item that is sought.
+	 * @return True if item is found, false otherwise.
+	 */
+	public boolean contains(T item) {
+		return binarySearch(item) >= 0;
+	}
+}
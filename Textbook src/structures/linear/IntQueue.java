@@ -0,0 +1,190 @@
+package structures.linear;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a FIFO queue of primitive ints in a growable circular
+ * array whose capacity is always a power of two. It is the int specialization
+ * of ArrayQueue: items are not boxed, so enqueue and dequeue do not allocate
+ * once the array is large enough. Since there is no null int to signal the end
+ * of an iteration, items are enumerated by position with get( ) instead of
+ * with first( ) and next( ).
+ */
+public class IntQueue {
+	
+	/**
+	 * Items in this queue, stored in a circular array.
+	 */
+	int[] items;
+	
+	/**
+	 * Index of the front of this queue in the items array.
+	 */
+	int front;
+	
+	/**
+	 * Number of items in this queue.
+	 */
+	int count;
+	
+	/**
+	 * Initializes this queue to empty, with default initial capacity.
+	 */
+	public IntQueue() {
+		this(ArrayQueue.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Initializes this queue to empty, with room for at least the given number
+	 * of items before the array has to grow.
+	 * 
+	 * @param cap Initial capacity, rounded up to a power of two.
+	 * @throws IllegalArgumentException If cap is less than 0.
+	 */
+	public IntQueue(int cap) {
+		items = new int[ArrayQueue.capacityFor(cap)];
+		front = 0;
+		count = 0;
+	}
+	
+	/**
+	 * Doubles the capacity of the items array, unwrapping the items so that the
+	 * front is at index 0.
+	 */
+	void grow() {
+		int[] bigger = new int[items.length << 1];
+		int mask = items.length-1;
+		for (int i=0; i < count; i++) {
+			bigger[i] = items[(front + i) & mask];
+		}
+		items = bigger;
+		front = 0;
+	}
+	
+	/**
+	 * Enqueues a given item into this queue by adding to the end.
+	 * 
+	 * @param item Item to be enqueued.
+	 */
+	public void enqueue(int item) {
+		if (count == items.length) {
+			grow();
+		}
+		items[(front + count) & (items.length-1)] = item;
+		count++;
+	}
+	
+	/**
+	 * Dequeues from this queue by deleting and returning the item at the front.
+	 * 
+	 * @return Dequeued item.
+	 * @throws NoSuchElementException If this queue is empty.
+	 */
+	public int dequeue() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		int item = items[front];
+		front = (front + 1) & (items.length-1);
+		count--;
+		return item;
+	}
+	
+	/**
+	 * Returns the item at a given position from the front of this queue, without
+	 * removing it. Front of the queue is position 0.
+	 * 
+	 * @param pos Position of item.
+	 * @return Item at given position.
+	 * @throws IndexOutOfBoundsException If pos is < 0 or >= size of this queue.
+	 */
+	public int get(int pos) {
+		if (pos < 0 || pos >= count) {
+			throw new IndexOutOfBoundsException(pos + " < 0 or >= " + count);
+		}
+		return items[(front + pos) & (items.length-1)];
+	}
+	
+	/**
+	 * Returns the number of items in this queue.
+	 * 
+	 * @return Number of items in this queue.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this queue is empty or not.
+	 * 
+	 * @return True if this queue is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Returns the position of a given item from the front of this queue.
+	 * Front of the queue is position 0.
+	 * 
+	 * @param item Item for which position is to be found.
+	 * @return Position of item, -1 if item is not in this queue.
+	 */
+	public int positionOf(int item) {
+		int mask = items.length-1;
+		for (int i=0; i < count; i++) {
+			if (items[(front + i) & mask] == item) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Empties this queue by removing all items.
+	 */
+	public void clear() {
+		front = 0;
+		count = 0;
+	}
+	
+	/**
+	 * Removes the first occurrence (from the front) of a given item from this queue.
+	 * 
+	 * @param item Item to be removed.
+	 * @throws NoSuchElementException If this queue does not contain the given item.
+	 */
+	public void remove(int item) {
+		int pos = positionOf(item);
+		if (pos == -1) {
+			throw new NoSuchElementException();
+		}
+		int mask = items.length-1;
+		for (int i=pos; i < count-1; i++) {
+			items[(front + i) & mask] = items[(front + i + 1) & mask];
+		}
+		count--;
+	}
+	
+	/**
+	 * Removes all occurrences of a given item from this queue, in a single pass.
+	 * 
+	 * @param item Item for which all instances are to be removed.
+	 * @throws NoSuchElementException If this queue does not contain the given item.
+	 */
+	public void removeAll(int item) {
+		int mask = items.length-1;
+		int kept = 0;
+		for (int i=0; i < count; i++) {
+			int curr = items[(front + i) & mask];
+			if (curr != item) {
+				items[(front + kept) & mask] = curr;
+				kept++;
+			}
+		}
+		if (kept == count) { // no match
+			throw new NoSuchElementException();
+		}
+		count = kept;
+	}
+}
@@ -0,0 +1,124 @@
+package structures.linear;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a LIFO stack of primitive ints in a growable array. It is
+ * the int specialization of ArrayStack: items are not boxed, so push and pop do
+ * not allocate once the array is large enough. Since there is no null int to
+ * signal the end of an iteration, items are enumerated by position with get( )
+ * instead of with first( ) and next( ).
+ */
+public class IntStack {
+	
+	/**
+	 * Items in this stack, bottom at index 0, top at index count-1.
+	 */
+	int[] items;
+	
+	/**
+	 * Number of items in this stack.
+	 */
+	int count;
+	
+	/**
+	 * Initializes this stack to empty, with default initial capacity.
+	 */
+	public IntStack() {
+		this(ArrayStack.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Initializes this stack to empty, with given initial capacity.
+	 * 
+	 * @param cap Initial capacity.
+	 * @throws IllegalArgumentException If cap is less than 0.
+	 */
+	public IntStack(int cap) {
+		if (cap < 0) {
+			throw new IllegalArgumentException("cap < 0");
+		}
+		items = new int[Math.max(cap, 1)];
+		count = 0;
+	}
+	
+	/**
+	 *  Pushes a given item on this stack by adding to the top.
+	 * 
+	 * @param item Item to be pushed.
+	 */
+	public void push(int item) {
+		if (count == items.length) {
+			int[] bigger = new int[items.length << 1];
+			System.arraycopy(items, 0, bigger, 0, count);
+			items = bigger;
+		}
+		items[count++] = item;
+	}
+	
+	/**
+	 * Pops from this stack by deleting and returning the item at the top.
+	 * 
+	 * @return Popped item.
+	 * @throws NoSuchElementException If this stack is empty.
+	 */
+	public int pop() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		return items[--count];
+	}
+	
+	/**
+	 * Returns the item at the top of this stack without removing it.
+	 * 
+	 * @return Item at the top of this stack.
+	 * @throws NoSuchElementException If this stack is empty.
+	 */
+	public int top() {
+		if (count == 0) {
+			throw new NoSuchElementException();
+		}
+		return items[count-1];
+	}
+	
+	/**
+	 * Returns the item at a given position from the top of this stack, without
+	 * removing it. The top of the stack is position 0.
+	 * 
+	 * @param pos Position of item.
+	 * @return Item at given position.
+	 * @throws IndexOutOfBoundsException If pos is < 0 or >= size of this stack.
+	 */
+	public int get(int pos) {
+		if (pos < 0 || pos >= count) {
+			throw new IndexOutOfBoundsException(pos + " < 0 or >= " + count);
+		}
+		return items[count-1-pos];
+	}
+	
+	/**
+	 * Returns the number of items in this stack.
+	 * 
+	 * @return Number of items in this stack.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this stack is empty or not.
+	 * 
+	 * @return True if this stack is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Empties this stack by removing all items.
+	 */
+	public void clear() {
+		count = 0;
+	}
+}
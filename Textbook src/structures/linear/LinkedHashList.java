@@ -0,0 +1,260 @@
+package structures.linear;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a generic unordered list with a hash index on its items.
+ * It has the same methods as List, and items are kept in insertion order for 
+ * first( ), next( ) and iteration, but contains and remove look items up in a hash
+ * table, and take expected O(1) time instead of a linear scan. The items must have
+ * hashCode methods that are consistent with their equals methods.
+ * 
+ * @param <T> The type of objects to be stored in this list.
+ */
+public class LinkedHashList<T> implements Iterable<T> {
+	
+	/**
+	 * Bookkeeping for all occurrences of one item in this list.
+	 */
+	static class Occurrences<T> {
+		
+		/**
+		 * Node that holds the first occurrence of the item.
+		 */
+		DLLNode<T> first;
+		
+		/**
+		 * Number of occurrences of the item.
+		 */
+		int count;
+		
+		/**
+		 * Initializes with the node of the first (and only) occurrence.
+		 * 
+		 * @param node Node of the first occurrence.
+		 */
+		Occurrences(DLLNode<T> node) {
+			first = node;
+			count = 1;
+		}
+	}
+	
+	/**
+	 * Entries in this list, in insertion order.
+	 */
+	DoublyLinkedList<T> order;
+	
+	/**
+	 * Hash index from each distinct item to its occurrences in this list.
+	 */
+	HashMap<T,Occurrences<T>> index;
+	
+	/**
+	 * Keeps track of current position when iterating over this list using
+	 * the first( ) and next methods( ). 
+	 */
+	int cursor;
+	
+	/**
+	 * Node at the iteration cursor, null if it must be looked up again
+	 * because this list was modified.
+	 */
+	DLLNode<T> cursorItem;
+	
+	/**
+	 * Initializes this list to empty.
+	 */
+	public LinkedHashList() {
+		order = new DoublyLinkedList<T>();
+		index = new HashMap<T,Occurrences<T>>();
+		cursor = -1;
+		cursorItem = null;
+	}
+	
+	/**
+	 * Adds a given item to the end of this list.
+	 * 
+	 * @param item Item to be added to the end.
+	 */
+	public void add(T item) {
+		DLLNode<T> node = order.add(item);
+		Occurrences<T> occ = index.get(item);
+		if (occ == null) {
+			index.put(item, new Occurrences<T>(node));
+		} else {
+			occ.count++;
+		}
+	}
+	
+	/**
+	 * Returns the number of items in this list.
+	 * 
+	 * @return Number of items in this list.
+	 */
+	public int size() {
+		return order.size();
+	}
+	
+	/**
+	 * Tells whether this list is empty or not.
+	 * 
+	 * @return True if this list is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return order.isEmpty();
+	}
+	
+	/**
+	 * Tells whether this list contains a given item.
+	 * 
+	 * @param item Item that is sought in this list.
+	 * @return True if item is found, false otherwise.
+	 */
+	public boolean contains(T item) {
+		return index.containsKey(item);
+	}
+	
+	/**
+	 * Empties this list by removing all items.
+	 */
+	public void clear() {
+		order.clear();
+		index.clear();
+		cursorItem = null;
+	}
+	
+	/**
+	 * Unlinks a given node from this list, and updates the occurrences of its item.
+	 * 
+	 * @param node Node to be unlinked.
+	 */
+	void unlink(DLLNode<T> node) {
+		Occurrences<T> occ = index.get(node.data);
+		if (occ.count == 1) {
+			index.remove(node.data);
+		} else {
+			if (occ.first == node) { // the next occurrence is somewhere after this one
+				DLLNode<T> curr = order.nextNode(node);
+				while (!node.data.equals(curr.data)) {
+					curr = order.nextNode(curr);
+				}
+				occ.first = curr;
+			}
+			occ.count--;
+		}
+		order.unlink(node);
+		cursorItem = null;
+	}
+	
+	/**
+	 * Removes the first occurrence of a given item from this list.
+	 * 
+	 * @param item Item to be removed.
+	 * @throws NoSuchElementException If this list does not contain the given item.
+	 */
+	public void remove(T item) {
+		Occurrences<T> occ = index.get(item);
+		if (occ == null) {
+			throw new NoSuchElementException();
+		}
+		unlink(occ.first);
+	}
+	
+	/**
+	 * Removes all occurrences of a given item from this list.
+	 * 
+	 * @param item Item for which all instances are to be removed.
+	 * @throws NoSuchElementException If this list does not contain the given item.
+	 */
+	public void removeAll(T item) {
+		Occurrences<T> occ = index.remove(item);
+		if (occ == null) {
+			throw new NoSuchElementException();
+		}
+		// unlink from the first occurrence on, until all have been found
+		DLLNode<T> curr = occ.first;
+		int left = occ.count;
+		while (left > 0) {
+			DLLNode<T> next = order.nextNode(curr);
+			if (item.equals(curr.data)) {
+				order.unlink(curr);
+				left--;
+			}
+			curr = next;
+		}
+		cursorItem = null;
+	}
+	
+	/**
+	 * Returns the first item in this list, and sets the iteration cursor to the 
+	 * first position. 
+	 * 
+	 * @return First item in this list, null if list is empty.
+	 */
+	public T first() {
+		if (order.isEmpty()) {
+			return null;
+		}
+		cursor = 0;
+		cursorItem = order.firstNode();
+		return cursorItem.data;
+	}
+	
+	/**
+	 * Sets the cursor to the next position, and returns the item in this list at
+	 * that position. <br> To iterate over this list, there
+	 * must be a call to first( ), followed by successive calls to next( ).
+	 * 
+	 * @return Next item in this list. Null if list is empty, or cursor is at the 
+	 *         end of the list at the time this method is called, i.e. end of list was
+	 *         reached. 
+	 */
+	public T next() {
+		if (cursor < 0 || cursor >= (order.size()-1)) {
+			return null;
+		}
+		cursor++;
+		if (cursorItem == null) {
+			cursorItem = order.nodeAt(cursor);
+		} else {
+			cursorItem = order.nextNode(cursorItem);
+		}
+		return cursorItem.data;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this list, in insertion order. Removing
+	 * through the iterator takes expected O(1) time.
+	 * 
+	 * @return Iterator over the items in this list.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			DLLNode<T> nextnode = order.firstNode();
+			DLLNode<T> last = null;
+			
+			public boolean hasNext() {
+				return nextnode != null;
+			}
+			
+			public T next() {
+				if (nextnode == null) {
+					throw new NoSuchElementException();
+				}
+				last = nextnode;
+				nextnode = order.nextNode(nextnode);
+				return last.data;
+			}
+			
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				unlink(last);
+				last = null;
+			}
+		};
+	}
+}
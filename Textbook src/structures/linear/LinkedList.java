@@ -1,37 +1,9 @@
 package structures.linear;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-/**
- * Helper class that implements linked list nodes.
- * 
- * @author Sesh Venugopal
- *
- * @param <T> The type of objects to be stored in this node
- */
-class Node<T> {
-	
-	/**
-	 * Data
-	 */
-	T data;
-	
-	/**
-	 * Next reference
-	 */
-	Node<T> next;
-	
-	/**
-	 * Initializes node with given data and null reference
-	 * 
-	 * @param dat Data
-	 */
-	Node(T dat) {
-		data = dat;
-		next = null;
-	}
-}
-
 /**
  * This class implements a generic circular linked list (CLL).
  *
@@ -39,9 +11,7 @@ class Node<T> {
  * 
  * @param <T> The type of objects to be stored in this CLL.
  */
-public class LinkedList<T> {
-	
-	
+public class LinkedList<T> implements Iterable<T> {
 	
 	/**
 	 * Reference to the last node of this CLL
@@ -194,6 +164,106 @@ public class LinkedList<T> {
 		}
 	}
 	
+	/**
+	 * Adds all items from a given source to the end of this CLL, in the order 
+	 * in which the source returns them.
+	 * 
+	 * @param items Items to be added.
+	 */
+	public void addAll(Iterable<? extends T> items) {
+		for (T item : items) {
+			add(item);
+		}
+	}
+	
+	/**
+	 * Moves all items of another CLL to the end of this CLL. The nodes of the other
+	 * CLL are spliced in, not copied, so this takes O(1) time regardless of the
+	 * lengths of the lists. The other CLL is left empty.
+	 * 
+	 * Unlike addAll, which copies the items and leaves its source as is, this
+	 * takes the items away from the other CLL.
+	 * 
+	 * @param other CLL whose items are to be moved to the end of this CLL.
+	 * @throws IllegalArgumentException If other is this CLL.
+	 */
+	public void transferFrom(LinkedList<T> other) {
+		if (other == this) {
+			throw new IllegalArgumentException("cannot splice a list into itself");
+		}
+		if (other.count == 0) {
+			return;
+		}
+		if (count > 0) { // link our tail to their front, their tail to our front
+			Node<T> front = tail.next;
+			tail.next = other.tail.next;
+			other.tail.next = front;
+		}
+		tail = other.tail;
+		count += other.count;
+		other.clear();
+	}
+	
+	/**
+	 * Removes all items that satisfy a given predicate from this CLL, in a single pass.
+	 * 
+	 * @param filter Predicate that tells whether an item is to be removed.
+	 * @return True if any items were removed, false otherwise.
+	 */
+	public boolean removeIf(Predicate<? super T> filter) {
+		if (count == 0) {
+			return false;
+		}
+		
+		// step through all entries
+		Node<T> prev=tail, curr=tail.next;
+		int oldcount = count;
+		for (int i=0; i < oldcount; i++) {
+			if (filter.test(curr.data)) {
+				prev.next = curr.next;
+				curr.data = null;
+				curr.next = null;
+				count--;
+			} else {
+				prev = curr;
+			}
+			curr = prev.next;
+		}
+		if (count == 0) {
+			tail = null;
+		} else {
+			tail = prev;
+		}
+		return count != oldcount;
+	}
+	
+	/**
+	 * Removes up to a given number of items from the front of this CLL, and adds
+	 * them, in order, to a given collection. An item is removed only after it has
+	 * been added to the collection, so if the collection throws an exception, the
+	 * items that were not added are still in this CLL.
+	 * 
+	 * @param c Collection to which the removed items are added.
+	 * @param maxItems Maximum number of items to be removed.
+	 * @return Number of items that were removed.
+	 */
+	public int drainTo(Collection<? super T> c, int maxItems) {
+		int n = Math.max(0, Math.min(maxItems, count));
+		for (int i=0; i < n; i++) {
+			Node<T> front = tail.next;
+			c.add(front.data);
+			if (count == 1) { // last item
+				tail = null;
+			} else {
+				tail.next = front.next;
+			}
+			count--;
+			front.data = null;
+			front.next = null;
+		}
+		return n;
+	}
+	
 	/**
 	 * Empties this CLL by removing all items.
 	 */
@@ -228,6 +298,19 @@ public class LinkedList<T> {
 	 * @return Item at specified index.
 	 */
 	public T getAt(int index) { 
+		return nodeAt(index).data; 
+	}
+	
+	/**
+	 * Returns the node at the specified index in this CLL. Used by the list, queue
+	 * and stack wrappers to position their iteration cursors.
+	 * 
+	 * @param index Position in this CLL of the node to be returned.
+	 * @return Node at specified index.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this CLL.
+	 */
+	Node<T> nodeAt(int index) {
 		if (index < 0 || index >= count) { 
 			throw new IndexOutOfBoundsException(index + " < 0 or >= " + count); 
 		}
@@ -236,7 +319,7 @@ public class LinkedList<T> {
 		for (int i=0; i < index; i++) { 
 			curr = curr.next; 
 		} 
-		return curr.data; 
+		return curr; 
 	}
 	
 	/**
@@ -278,4 +361,88 @@ public class LinkedList<T> {
 	public boolean isEmpty() {
 		return count == 0;
 	}
+	
+	/**
+	 * Returns an iterator over the items in this CLL, front to back. The iterator
+	 * holds on to the current node, so a full traversal takes O(n) time, as opposed
+	 * to O(n^2) time for a traversal by successive calls to getAt. 
+	 * 
+	 * @return Iterator over the items in this CLL.
+	 */
+	public Iterator<T> iterator() {
+		return new NodeIterator();
+	}
+	
+	/**
+	 * Iterator that steps through the nodes of this CLL, remembering the node
+	 * it last returned and its predecessor, so that remove can unlink in O(1) time.
+	 */
+	class NodeIterator implements Iterator<T> {
+		
+		/**
+		 * Predecessor of the node last returned by next, or tail before the first call.
+		 */
+		Node<T> prev;
+		
+		/**
+		 * Node last returned by next, null if there is none or it has been removed.
+		 */
+		Node<T> curr;
+		
+		/**
+		 * Number of items yet to be returned.
+		 */
+		int remaining;
+		
+		/**
+		 * Initializes this iterator to start at the front of the CLL.
+		 */
+		NodeIterator() {
+			prev = tail;
+			curr = null;
+			remaining = count;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		public T next() {
+			if (remaining == 0) {
+				throw new NoSuchElementException();
+			}
+			if (curr != null) {
+				prev = curr;
+			}
+			curr = prev.next;
+			remaining--;
+			return curr.data;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#remove()
+		 */
+		public void remove() {
+			if (curr == null) {
+				throw new IllegalStateException();
+			}
+			if (count == 1) { // removing the only node
+				tail = null;
+			} else {
+				prev.next = curr.next;
+				if (curr == tail) {
+					tail = prev;
+				}
+			}
+			curr.next = null;
+			curr = null;
+			count--;
+		}
+	}
 }
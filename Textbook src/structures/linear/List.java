@@ -1,5 +1,7 @@
 package structures.linear;
 
+import java.util.Iterator;
+
 /**
  * This class implements a generic unordered list.
  *
@@ -7,7 +9,7 @@ package structures.linear;
  * 
  * @param <T> The type of objects to be stored in this unordered list.
  */
-public class List<T> {
+public class List<T> implements Iterable<T> {
 	
 	/**
 	 * Entries in this list, stored in a generic linked list.
@@ -20,6 +22,13 @@ public class List<T> {
 	 */
 	int cursor;
 	
+	/**
+	 * Node at the cursor position, so that next( ) can step to the following node
+	 * instead of walking from the front. Null if it must be looked up again
+	 * because this list was modified.
+	 */
+	Node<T> cursorNode;
+	
 	/**
 	 * Initializes this list to empty.
 	 *
@@ -27,6 +36,7 @@ public class List<T> {
 	public List() {
 		elements = new LinkedList<T>();
 		cursor = -1;
+		cursorNode = null;
 	}
 	
 	/**
@@ -71,6 +81,7 @@ public class List<T> {
 	 */
 	public void clear() {
 		elements.clear();
+		cursorNode = null;
 	}
 	
 	/**
@@ -81,6 +92,7 @@ public class List<T> {
 	 */
 	public void remove(T item) { 
 		elements.remove(item);
+		cursorNode = null;
 	}
 	
 	/**
@@ -91,6 +103,7 @@ public class List<T> {
 	 */
 	public void removeAll(T item) { 
 		elements.removeAll(item);
+		cursorNode = null;
 	}
 	
 	/**
@@ -104,7 +117,8 @@ public class List<T> {
 			return null;
 		}
 		cursor = 0;
-		return elements.getAt(cursor);
+		cursorNode = elements.nodeAt(cursor);
+		return cursorNode.data;
 	}
 	
 	/**
@@ -121,6 +135,35 @@ public class List<T> {
 			return null;
 		}
 		cursor++;
-		return elements.getAt(cursor);
+		if (cursorNode == null) {
+			cursorNode = elements.nodeAt(cursor);
+		} else {
+			cursorNode = cursorNode.next;
+		}
+		return cursorNode.data;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this list, front to back. A full traversal
+	 * with the iterator takes time linear in the size of this list.
+	 * 
+	 * @return Iterator over the items in this list.
+	 */
+	public Iterator<T> iterator() {
+		final Iterator<T> it = elements.iterator();
+		return new Iterator<T>() {
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+			
+			public T next() {
+				return it.next();
+			}
+			
+			public void remove() {
+				it.remove();
+				cursorNode = null;  // next( ) must look up its node again
+			}
+		};
 	}
 }
@@ -0,0 +1,231 @@
+package structures.linear;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an ordered list of primitive longs. It is the long
+ * specialization of OrderedList<Long>: the items are kept in a long array
+ * instead of as boxed Longs in an array list, which takes about a third
+ * of the space, and comparisons are plain long comparisons instead of calls
+ * to compareTo. Since there is no null long to signal the end of an iteration,
+ * items are enumerated by position with get( ) instead of with first( ) and next( ).
+ */
+public class LongOrderedList {
+	
+	/**
+	 * Items in this ordered list, in positions 0 through count-1.
+	 */
+	long[] items;
+	
+	/**
+	 * Number of items in this ordered list.
+	 */
+	int count;
+	
+	/**
+	 * Initializes an empty list with given initial capacity.
+	 * 
+	 * @param cap Initial capacity
+	 */
+	public LongOrderedList(int cap) {
+		items = new long[Math.max(cap, 1)];
+		count = 0;
+	}
+	
+	/**
+	 * Initializes an empty list with default initial capacity.
+	 * 
+	 */
+	public LongOrderedList() {
+		this(10);
+	}
+	
+	/**
+	 * Builds an ordered list out of a given array of items, in any order. The items
+	 * are sorted once and duplicates are dropped. The given array is not modified.
+	 * 
+	 * @param values Items to be put in the list.
+	 * @return New ordered list of the distinct items.
+	 */
+	public static LongOrderedList of(long[] values) {
+		LongOrderedList list = new LongOrderedList(values.length);
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		for (int i=0; i < sorted.length; i++) {
+			if (i == 0 || sorted[i] != sorted[i-1]) {
+				list.items[list.count++] = sorted[i];
+			}
+		}
+		return list;
+	}
+	
+	/**
+	 * Makes sure there is room for at least a given number of items.
+	 * 
+	 * @param cap Number of items.
+	 */
+	void ensureCapacity(int cap) {
+		if (cap > items.length) {
+			items = Arrays.copyOf(items, Math.max(cap, items.length << 1));
+		}
+	}
+	
+	/**
+	 * Appends a given item to the end of this list without checking it against 
+	 * the last item. Used by Merger, whose merges produce items in order.
+	 * 
+	 * @param item Item to be appended, must be greater than the last item in this list.
+	 */
+	void append(long item) {
+		if (count == items.length) {
+			ensureCapacity(count+1);
+		}
+		items[count++] = item;
+	}
+	
+	/**
+	 * Adds a given item to the end of this list.
+	 * 
+	 * @param item Item to be added.
+	 * @throws OrderViolationException If the last item in the list 
+	 * 			is greater or equal to the given item.
+	 */
+	public void add(long item) {
+		if (count > 0 && item <= items[count-1]) {
+			throw new OrderViolationException();
+		}
+		append(item);
+	}
+	
+	/**
+	 * Inserts a given item into this list.
+	 * 
+	 * @param item Item to be inserted.
+	 * @throws OrderViolationException If the new item is a duplicate of an existing item.
+	 */
+	public void insert(long item) {
+		int pos = binarySearch(item);
+		if (pos >= 0) {  // this is a duplicate entry
+			throw new OrderViolationException();
+		}
+		pos = -pos-1;
+		ensureCapacity(count+1);
+		System.arraycopy(items, pos, items, pos+1, count-pos);
+		items[pos] = item;
+		count++;
+	}
+	
+	/**
+	 * Returns the number of items in this list.
+	 * 
+	 * @return Number of items in this list.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this list is empty or not.
+	 * 
+	 * @return True if list is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Searches for a given item in this list using binary search, and
+	 * returns the position of the matching item.
+	 * 
+	 * @param item Item to be searched.
+	 * @return Position of item, if match found. If there is no match, returns
+	 * 			<em>pos</em>, where -<em>pos</em>-1 would be its position, <b>if it
+	 * 			were to be inserted into this list.</b>   	
+	 */
+	public int binarySearch(long item) {
+		int lo=0, hi=count-1;
+		while (lo <= hi) {
+			int mid = (lo+hi) >>> 1;
+			long midItem = items[mid];
+			if (midItem < item) {
+				lo = mid + 1;
+			} else if (midItem > item) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(lo+1);
+	}
+	
+	/**
+	 * Tells whether this list contains a given item.
+	 * 
+	 * @param item Item that is sought.
+	 * @return True if item is found, false otherwise.
+	 */
+	public boolean contains(long item) {
+		return binarySearch(item) >= 0;
+	}
+	
+	/**
+	 * Returns the item at a given position in this list.
+	 * 
+	 * @param pos Position in list.
+	 * @return Item at given position.
+	 * @throws IndexOutOfBoundsException If given position < 0 or >= size of list.
+	 */
+	public long get(int pos) {
+		if (pos < 0 || pos >= count) {
+			throw new IndexOutOfBoundsException("pos < 0 or >= " + count);
+		}
+		return items[pos];
+	}
+	
+	/**
+	 * Removes a given item from this list.
+	 * 
+	 * @param item Item to be removed from this list.
+	 * @throws NoSuchElementException If the given item is not in this list.
+	 */
+	public void remove(long item) {
+		int pos = binarySearch(item);
+		if (pos < 0) {  // not found
+			throw new NoSuchElementException();
+		}
+		removeAt(pos);
+	}
+	
+	/**
+	 * Removes the item at a given position in this list. (Named differently from 
+	 * remove, which takes an item, so that an int item
+	 * is never taken for a position.)
+	 * 
+	 * @param pos Position of item to be removed.
+	 * @throws IndexOutOfBoundsException If given position < 0 or >= size of list.  
+	 */
+	public void removeAt(int pos) {
+		if (pos < 0 || pos >= count) {
+			throw new IndexOutOfBoundsException("pos < 0 or >= " + count);
+		}
+		System.arraycopy(items, pos+1, items, pos, count-pos-1);
+		count--;
+	}
+	
+	/**
+	 * Empties this list by removing all items.
+	 */
+	public void clear() {
+		count = 0;
+	}
+	
+	/**
+	 * Returns the items in this list, in order, in a new array.
+	 * 
+	 * @return Array of items.
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(items, count);
+	}
+}
@@ -1,5 +1,7 @@
 package structures.linear;
 
+import java.util.PriorityQueue;
+
 /**
  * This class implements "merging" operations union, intersection, and
  * difference on two ordered lists. It is a utility class with only
@@ -17,6 +19,12 @@ public class Merger {
 	 */
 	private Merger() { }
 	
+	/**
+	 * When one list is at least this many times longer than the other, the merges
+	 * gallop through the longer list instead of stepping through it one item at a time.
+	 */
+	static final int GALLOP_RATIO = 8;
+	
 	/**
 	 * Appends the items in an ordered list to the end of another.
 	 * 
@@ -29,15 +37,71 @@ public class Merger {
 	 */
 	private static <T extends Comparable<T>> 
 	void append(OrderedList<T> LOut, OrderedList<T> LIn, int pos) {
-		while (pos < LIn.size()) {
-			LOut.add(LIn.get(pos++));
+		LOut.appendRange(LIn, pos, LIn.size());
+	}
+	
+	/**
+	 * Finds the position of the first item in an ordered list, at or after a given
+	 * starting position, that is greater than or equal to a given key. Probes at
+	 * distances 1, 2, 4, 8, ... from the start until the key is passed, then does a
+	 * binary search in the last interval, so it takes O(log d) time, where d is the
+	 * distance from the start to the position found.
+	 * 
+	 * @param <T> Type of objects stored in the list
+	 * @param list The list to be searched
+	 * @param key The key
+	 * @param from The starting position
+	 * @return Position of first item >= key at or after from, or list size if
+	 * 			there is no such item
+	 */
+	static <T extends Comparable<T>> 
+	int gallop(OrderedList<T> list, T key, int from) {
+		int size = list.size();
+		if (from >= size || list.get(from).compareTo(key) >= 0) {
+			return from;
+		}
+		
+		// list[lo] < key, find hi with list[hi] >= key (or hi == size)
+		int lo = from, step = 1, hi = from + 1;
+		while (hi < size && list.get(hi).compareTo(key) < 0) {
+			lo = hi;
+			step <<= 1;
+			hi = from + step;
+		}
+		if (hi > size) {
+			hi = size;
 		}
+		
+		// binary search for the first item >= key in (lo, hi]
+		while (hi - lo > 1) {
+			int mid = (lo + hi) >>> 1;
+			if (list.get(mid).compareTo(key) < 0) {
+				lo = mid;
+			} else {
+				hi = mid;
+			}
+		}
+		return hi;
+	}
+	
+	/**
+	 * Tells whether the merges should gallop, i.e. whether one of the lists
+	 * is much longer than the other.
+	 * 
+	 * @param size1 Length of first list
+	 * @param size2 Length of second list
+	 * @return True if the longer list is at least GALLOP_RATIO times the shorter one
+	 */
+	static boolean shouldGallop(int size1, int size2) {
+		return size1 / GALLOP_RATIO >= size2 || size2 / GALLOP_RATIO >= size1;
 	}
 	
 	/**
 	 * Computes the (set) union of two ordered lists using a modification of the
 	 * "two finger" merge algorithm for ordered lists. Runs in O(m+n) time
-	 * in the worst case where m and n are the lengths of the lists. The
+	 * in the worst case where m and n are the lengths of the lists. If one list
+	 * is much shorter, the runs of the longer list between items of the shorter
+	 * list are found by galloping and copied in bulk. The
 	 * input lists are not modified by this method.
 	 * 
 	 * @param <T> The type of objects stored in the ordered lists
@@ -63,7 +127,16 @@ public class Merger {
 		// neither is empty, get those fingers moving
 		int size1 = first.size(); 
 		int size2 = second.size(); 
-		OrderedList<T> result = new OrderedList<T>(); 
+		OrderedList<T> result = new OrderedList<T>(size1 + size2); 
+		if (shouldGallop(size1, size2)) {
+			if (size1 < size2) {
+				gallopUnion(result, first, second, true);
+			} else {
+				gallopUnion(result, second, first, false);
+			}
+			return result;
+		}
+		
 		int firstFinger = 0, secondFinger = 0; 
 		while (firstFinger < size1 && secondFinger < size2) { 
 			// get the entries pointed to by the fingers 
@@ -71,13 +144,13 @@ public class Merger {
 			T secondItem = second.get(secondFinger); 
 			int c = firstItem.compareTo(secondItem);
 			if (c == 0) { 
-				result.add(firstItem); 
+				result.append(firstItem); 
 				firstFinger++; secondFinger++; 
 			} else if (c < 0) { 
-				result.add(firstItem); 
+				result.append(firstItem); 
 				firstFinger++; 
 			} else { 
-				result.add(secondItem); 
+				result.append(secondItem); 
 				secondFinger++; 
 			} 
 		}  
@@ -92,10 +165,41 @@ public class Merger {
 		return result; 
 	} 
 	
+	/**
+	 * Union of a short list with a long list, by galloping through the long list.
+	 * Runs in O(m log(n/m)) comparisons, where m is the length of the short list.
+	 * 
+	 * @param <T> The type of objects stored in the ordered lists
+	 * @param result List to which the union is appended
+	 * @param small The shorter list
+	 * @param large The longer list
+	 * @param smallIsFirst Whether the shorter list is the first operand, whose items
+	 * 			are kept when items of the two lists are equal
+	 */
+	static <T extends Comparable<T>> 
+	void gallopUnion(OrderedList<T> result, OrderedList<T> small, OrderedList<T> large, 
+			boolean smallIsFirst) {
+		int largeFinger = 0;
+		for (int i=0; i < small.size(); i++) {
+			T item = small.get(i);
+			int pos = gallop(large, item, largeFinger);
+			result.appendRange(large, largeFinger, pos);
+			if (pos < large.size() && item.compareTo(large.get(pos)) == 0) {
+				result.append(smallIsFirst ? item : large.get(pos));
+				pos++;
+			} else {
+				result.append(item);
+			}
+			largeFinger = pos;
+		}
+		append(result, large, largeFinger);
+	}
+	
 	/**
 	 * Computes the (set) difference of two ordered lists using a modification of the
 	 * "two finger" merge algorithm for ordered lists. Runs in O(m+n) time
-	 * in the worst case where m and n are the lengths of the lists. The
+	 * in the worst case where m and n are the lengths of the lists. If one list
+	 * is much shorter, the longer list is galloped through. The
 	 * input lists are not modified by this method.
 	 * 
 	 * @param <T> The type of objects stored in the ordered lists
@@ -119,8 +223,32 @@ public class Merger {
 		// neither is empty, get those fingers moving
 		int size1 = first.size(); 
 		int size2 = second.size(); 
-		OrderedList<T> result = new OrderedList<T>(); 
+		OrderedList<T> result = new OrderedList<T>(size1); 
 		int firstFinger = 0, secondFinger = 0; 
+		if (shouldGallop(size1, size2)) {
+			if (size1 < size2) { // look up each item of first in second
+				for (; firstFinger < size1; firstFinger++) {
+					T firstItem = first.get(firstFinger);
+					secondFinger = gallop(second, firstItem, secondFinger);
+					if (secondFinger < size2 && firstItem.compareTo(second.get(secondFinger)) == 0) {
+						secondFinger++;
+					} else {
+						result.append(firstItem);
+					}
+				}
+			} else { // copy runs of first between items of second
+				for (; secondFinger < size2 && firstFinger < size1; secondFinger++) {
+					T secondItem = second.get(secondFinger);
+					int pos = gallop(first, secondItem, firstFinger);
+					result.appendRange(first, firstFinger, pos);
+					if (pos < size1 && secondItem.compareTo(first.get(pos)) == 0) {
+						pos++;
+					}
+					firstFinger = pos;
+				}
+			}
+		}
+		
 		while (firstFinger < size1 && secondFinger < size2) { 
 			// get the entries pointed to by the fingers 
 			T firstItem = first.get(firstFinger); 
@@ -129,7 +257,7 @@ public class Merger {
 			if (c == 0) { 
 				firstFinger++; secondFinger++; 
 			} else if (c < 0) { 
-				result.add(firstItem); 
+				result.append(firstItem); 
 				firstFinger++; 
 			} else { 
 				secondFinger++; 
@@ -146,7 +274,8 @@ public class Merger {
 	/**
 	 * Computes the (set) intersection of two ordered lists using a modification of the
 	 * "two finger" merge algorithm for ordered lists. Runs in O(m+n) time
-	 * in the worst case where m and n are the lengths of the lists. The
+	 * in the worst case where m and n are the lengths of the lists. If one list
+	 * is much shorter, each of its items is looked up in the longer list by galloping. The
 	 * input lists are not modified by this method.
 	 * 
 	 * @param <T> The type of objects stored in the ordered lists
@@ -163,7 +292,23 @@ public class Merger {
 		// neither is empty, get those fingers moving
 		int size1 = first.size(); 
 		int size2 = second.size(); 
-		OrderedList<T> result = new OrderedList<T>(); 
+		OrderedList<T> result = new OrderedList<T>(Math.min(size1, size2)); 
+		if (shouldGallop(size1, size2)) {
+			boolean firstIsSmall = size1 < size2;
+			OrderedList<T> small = firstIsSmall ? first : second;
+			OrderedList<T> large = firstIsSmall ? second : first;
+			int largeFinger = 0;
+			for (int i=0; i < small.size() && largeFinger < large.size(); i++) {
+				T item = small.get(i);
+				largeFinger = gallop(large, item, largeFinger);
+				if (largeFinger < large.size() && item.compareTo(large.get(largeFinger)) == 0) {
+					result.append(firstIsSmall ? item : large.get(largeFinger));
+					largeFinger++;
+				}
+			}
+			return result;
+		}
+		
 		int firstFinger = 0, secondFinger = 0; 
 		while (firstFinger < size1 && secondFinger < size2) { 
 			// get the entries pointed to by the fingers 
@@ -171,7 +316,7 @@ public class Merger {
 			T secondItem = second.get(secondFinger); 
 			int c = firstItem.compareTo(secondItem);
 			if (c == 0) { 
-				result.add(firstItem); 
+				result.append(firstItem); 
 				firstFinger++; secondFinger++; 
 			} else if (c < 0) { 
 				firstFinger++; 
@@ -182,4 +327,287 @@ public class Merger {
 		
 		return result; 
 	}
+	
+	/**
+	 * Cursor into one of the input lists of a k-way union, ordered by the item it
+	 * is at, and, for equal items, by the position of its list among the inputs.
+	 */
+	static class Finger<T extends Comparable<T>> implements Comparable<Finger<T>> {
+		
+		/**
+		 * The list this finger moves through.
+		 */
+		OrderedList<T> list;
+		
+		/**
+		 * Position of the list among the inputs.
+		 */
+		int rank;
+		
+		/**
+		 * Current position in the list.
+		 */
+		int pos;
+		
+		/**
+		 * Item at the current position.
+		 */
+		T item;
+		
+		/**
+		 * Initializes a finger at the front of a non-empty list.
+		 * 
+		 * @param list The list
+		 * @param rank Position of the list among the inputs
+		 */
+		Finger(OrderedList<T> list, int rank) {
+			this.list = list;
+			this.rank = rank;
+			pos = 0;
+			item = list.get(0);
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(Finger<T> other) {
+			int c = item.compareTo(other.item);
+			return c != 0 ? c : rank - other.rank;
+		}
+	}
+	
+	/**
+	 * Computes the (set) union of any number of ordered lists in a single k-way merge,
+	 * keeping the fingers of the lists in a heap. Runs in O(N log k) time, where N is
+	 * the total length of the k lists, instead of merging the lists pairwise. When
+	 * items in several lists are equal, the item from the earliest list is kept. The
+	 * input lists are not modified by this method.
+	 * 
+	 * @param <T> The type of objects stored in the ordered lists
+	 * @param lists The ordered lists
+	 * @return A new ordered list that is the union of all the input lists
+	 */
+	public static <T extends Comparable<T>> 
+	OrderedList<T> unionAll(java.util.List<OrderedList<T>> lists) {
+		int total = 0;
+		PriorityQueue<Finger<T>> fingers = new PriorityQueue<Finger<T>>(Math.max(lists.size(), 1));
+		for (int i=0; i < lists.size(); i++) {
+			OrderedList<T> list = lists.get(i);
+			if (!list.isEmpty()) {
+				fingers.add(new Finger<T>(list, i));
+				total += list.size();
+			}
+		}
+		
+		OrderedList<T> result = new OrderedList<T>(total);
+		T last = null;
+		while (!fingers.isEmpty()) {
+			Finger<T> f = fingers.poll();
+			if (fingers.isEmpty()) { // only one list left, copy the rest of it
+				if (last != null && f.item.compareTo(last) == 0) {
+					f.pos++;
+				}
+				append(result, f.list, f.pos);
+				break;
+			}
+			if (last == null || f.item.compareTo(last) != 0) {
+				result.append(f.item);
+				last = f.item;
+			}
+			f.pos++;
+			if (f.pos < f.list.size()) {
+				f.item = f.list.get(f.pos);
+				fingers.add(f);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Computes the (set) union of two ordered lists of ints, by the "two finger"
+	 * merge algorithm. Runs in O(m+n) time. The loop body chooses the next item and
+	 * advances the fingers with conditional moves instead of branching on the
+	 * comparison, so it is not slowed down by branch mispredictions on random data.
+	 * The input lists are not modified by this method.
+	 * 
+	 * @param first The first ordered list
+	 * @param second The second ordered list
+	 * @return A new ordered list that is the union of the two input lists
+	 */
+	public static IntOrderedList union(IntOrderedList first, IntOrderedList second) {
+		int size1 = first.count, size2 = second.count;
+		IntOrderedList result = new IntOrderedList(size1 + size2);
+		int[] a = first.items, b = second.items, out = result.items;
+		int i=0, j=0, k=0;
+		while (i < size1 && j < size2) {
+			int x = a[i], y = b[j];
+			out[k++] = x <= y ? x : y;
+			i += x <= y ? 1 : 0;
+			j += y <= x ? 1 : 0;
+		}
+		
+		// tie up loose ends
+		System.arraycopy(a, i, out, k, size1-i);
+		k += size1-i;
+		System.arraycopy(b, j, out, k, size2-j);
+		k += size2-j;
+		result.count = k;
+		return result;
+	}
+	
+	/**
+	 * Computes the (set) difference of two ordered lists of ints, by the "two finger"
+	 * merge algorithm, without branching on the comparisons. Runs in O(m+n) time.
+	 * The input lists are not modified by this method.
+	 * 
+	 * @param first The first ordered list
+	 * @param second The second ordered list
+	 * @return A new ordered list that is the difference of the first with the second,
+	 * 			null if the first list is empty (as for the generic difference)
+	 */
+	public static IntOrderedList difference(IntOrderedList first, IntOrderedList second) {
+		if (first.isEmpty()) {
+			return null;
+		}
+		int size1 = first.count, size2 = second.count;
+		IntOrderedList result = new IntOrderedList(size1);
+		int[] a = first.items, b = second.items, out = result.items;
+		int i=0, j=0, k=0;
+		while (i < size1 && j < size2) {
+			int x = a[i], y = b[j];
+			out[k] = x;
+			k += x < y ? 1 : 0;
+			i += x <= y ? 1 : 0;
+			j += y <= x ? 1 : 0;
+		}
+		
+		// tie up loose ends
+		System.arraycopy(a, i, out, k, size1-i);
+		k += size1-i;
+		result.count = k;
+		return result;
+	}
+	
+	/**
+	 * Computes the (set) intersection of two ordered lists of ints, by the "two finger"
+	 * merge algorithm, without branching on the comparisons. Runs in O(m+n) time.
+	 * The input lists are not modified by this method.
+	 * 
+	 * @param first The first ordered list
+	 * @param second The second ordered list
+	 * @return A new ordered list that is the intersection of the two input lists,
+	 * 			null if either list is empty (as for the generic intersection)
+	 */
+	public static IntOrderedList intersection(IntOrderedList first, IntOrderedList second) {
+		if (first.isEmpty() || second.isEmpty()) {
+			return null;
+		}
+		int size1 = first.count, size2 = second.count;
+		IntOrderedList result = new IntOrderedList(Math.min(size1, size2));
+		int[] a = first.items, b = second.items, out = result.items;
+		int i=0, j=0, k=0;
+		while (i < size1 && j < size2) {
+			int x = a[i], y = b[j];
+			out[k] = x;
+			k += x == y ? 1 : 0;
+			i += x <= y ? 1 : 0;
+			j += y <= x ? 1 : 0;
+		}
+		result.count = k;
+		return result;
+	}
+	
+	/**
+	 * Computes the (set) union of two ordered lists of longs, by the "two finger"
+	 * merge algorithm. Runs in O(m+n) time. The loop body chooses the next item and
+	 * advances the fingers with conditional moves instead of branching on the
+	 * comparison, so it is not slowed down by branch mispredictions on random data.
+	 * The input lists are not modified by this method.
+	 * 
+	 * @param first The first ordered list
+	 * @param second The second ordered list
+	 * @return A new ordered list that is the union of the two input lists
+	 */
+	public static LongOrderedList union(LongOrderedList first, LongOrderedList second) {
+		int size1 = first.count, size2 = second.count;
+		LongOrderedList result = new LongOrderedList(size1 + size2);
+		long[] a = first.items, b = second.items, out = result.items;
+		int i=0, j=0, k=0;
+		while (i < size1 && j < size2) {
+			long x = a[i], y = b[j];
+			out[k++] = x <= y ? x : y;
+			i += x <= y ? 1 : 0;
+			j += y <= x ? 1 : 0;
+		}
+		
+		// tie up loose ends
+		System.arraycopy(a, i, out, k, size1-i);
+		k += size1-i;
+		System.arraycopy(b, j, out, k, size2-j);
+		k += size2-j;
+		result.count = k;
+		return result;
+	}
+	
+	/**
+	 * Computes the (set) difference of two ordered lists of longs, by the "two finger"
+	 * merge algorithm, without branching on the comparisons. Runs in O(m+n) time.
+	 * The input lists are not modified by this method.
+	 * 
+	 * @param first The first ordered list
+	 * @param second The second ordered list
+	 * @return A new ordered list that is the difference of the first with the second,
+	 * 			null if the first list is empty (as for the generic difference)
+	 */
+	public static LongOrderedList difference(LongOrderedList first, LongOrderedList second) {
+		if (first.isEmpty()) {
+			return null;
+		}
+		int size1 = first.count, size2 = second.count;
+		LongOrderedList result = new LongOrderedList(size1);
+		long[] a = first.items, b = second.items, out = result.items;
+		int i=0, j=0, k=0;
+		while (i < size1 && j < size2) {
+			long x = a[i], y = b[j];
+			out[k] = x;
+			k += x < y ? 1 : 0;
+			i += x <= y ? 1 : 0;
+			j += y <= x ? 1 : 0;
+		}
+		
+		// tie up loose ends
+		System.arraycopy(a, i, out, k, size1-i);
+		k += size1-i;
+		result.count = k;
+		return result;
+	}
+	
+	/**
+	 * Computes the (set) intersection of two ordered lists of longs, by the "two finger"
+	 * merge algorithm, without branching on the comparisons. Runs in O(m+n) time.
+	 * The input lists are not modified by this method.
+	 * 
+	 * @param first The first ordered list
+	 * @param second The second ordered list
+	 * @return A new ordered list that is the intersection of the two input lists,
+	 * 			null if either list is empty (as for the generic intersection)
+	 */
+	public static LongOrderedList intersection(LongOrderedList first, LongOrderedList second) {
+		if (first.isEmpty() || second.isEmpty()) {
+			return null;
+		}
+		int size1 = first.count, size2 = second.count;
+		LongOrderedList result = new LongOrderedList(Math.min(size1, size2));
+		long[] a = first.items, b = second.items, out = result.items;
+		int i=0, j=0, k=0;
+		while (i < size1 && j < size2) {
+			long x = a[i], y = b[j];
+			out[k] = x;
+			k += x == y ? 1 : 0;
+			i += x <= y ? 1 : 0;
+			j += y <= x ? 1 : 0;
+		}
+		result.count = k;
+		return result;
+	}
 }
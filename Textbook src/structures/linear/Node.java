@@ -0,0 +1,31 @@
+package structures.linear;
+
+/**
+ * Helper class that implements linked list nodes.
+ * 
+ * @author Sesh Venugopal
+ *
+ * @param <T> The type of objects to be stored in this node
+ */
+class Node<T> {
+	
+	/**
+	 * Data
+	 */
+	T data;
+	
+	/**
+	 * Next reference
+	 */
+	Node<T> next;
+	
+	/**
+	 * Initializes node with given data and null reference
+	 * 
+	 * @param dat Data
+	 */
+	Node(T dat) {
+		data = dat;
+		next = null;
+	}
+}
@@ -1,6 +1,8 @@
 package structures.linear;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.NoSuchElementException;
 
 /**
@@ -41,6 +43,30 @@ public class OrderedList<T extends Comparable<T>> {
 		cursor = -1;
 	}
 	
+	/**
+	 * Builds an ordered list out of a given collection of items, in any order. The 
+	 * items are sorted once, and duplicates are dropped, which takes O(n log n) time
+	 * as opposed to O(n^2) time for n calls to insert.
+	 * 
+	 * @param <T> The type of objects stored in the list
+	 * @param items Items to be put in the list.
+	 * @return New ordered list of the distinct items.
+	 */
+	public static <T extends Comparable<T>> OrderedList<T> of(Collection<? extends T> items) {
+		ArrayList<T> sorted = new ArrayList<T>(items);
+		Collections.sort(sorted);
+		
+		OrderedList<T> list = new OrderedList<T>(sorted.size());
+		T last = null;
+		for (T item : sorted) {
+			if (last == null || item.compareTo(last) != 0) {
+				list.elements.add(item);
+				last = item;
+			}
+		}
+		return list;
+	}
+	
 	/**
 	 * Adds a given item to the end of this list.
 	 * 
@@ -60,6 +86,30 @@ public class OrderedList<T extends Comparable<T>> {
 		elements.add(item);
 	}
 	
+	/**
+	 * Appends a given item to the end of this list without checking it against 
+	 * the last item. Used by Merger, whose merges produce items in order.
+	 * 
+	 * @param item Item to be appended, must be greater than the last item in this list.
+	 */
+	void append(T item) {
+		elements.add(item);
+	}
+	
+	/**
+	 * Appends a range of items from another ordered list to the end of this list,
+	 * without checking their order. Used by Merger to copy runs of items in bulk.
+	 * 
+	 * @param src List from which items are appended.
+	 * @param from Position in src of first item to be appended.
+	 * @param to Position in src one past the last item to be appended.
+	 */
+	void appendRange(OrderedList<T> src, int from, int to) {
+		if (from < to) {
+			elements.addAll(src.elements.subList(from, to));
+		}
+	}
+	
 	/**
 	 * Adds/inserts a given item at the given position in this list.
 	 * 
@@ -110,6 +160,56 @@ public class OrderedList<T extends Comparable<T>> {
 		}
 	}
 	
+	/**
+	 * Inserts all items of a given collection into this list. The items are sorted,
+	 * then merged with the items in this list in a single linear pass, so inserting
+	 * k items into a list of n items takes O(k log k + n) time, instead of O(k*n)
+	 * time for k calls to insert. 
+	 * 
+	 * @param items Items to be inserted, in any order.
+	 * @throws OrderViolationException If an item is a duplicate of an existing item,
+	 * 			or of another item in the collection. This list is not changed in that case.
+	 */
+	public void insertAll(Collection<? extends T> items) {
+		ArrayList<T> batch = new ArrayList<T>(items);
+		Collections.sort(batch);
+		
+		// merge batch and elements into a new array list
+		int size1 = elements.size(), size2 = batch.size();
+		ArrayList<T> merged = new ArrayList<T>(size1 + size2);
+		int i=0, j=0;
+		while (i < size1 && j < size2) {
+			T old = elements.get(i);
+			T item = batch.get(j);
+			int c = item.compareTo(old);
+			if (c == 0) { // duplicate entry
+				throw new OrderViolationException();
+			}
+			if (c < 0) {
+				if (j > 0 && item.compareTo(batch.get(j-1)) == 0) { // duplicate within batch
+					throw new OrderViolationException();
+				}
+				merged.add(item);
+				j++;
+			} else {
+				merged.add(old);
+				i++;
+			}
+		}
+		while (i < size1) {
+			merged.add(elements.get(i++));
+		}
+		while (j < size2) {
+			T item = batch.get(j);
+			if (j > 0 && item.compareTo(batch.get(j-1)) == 0) { // duplicate within batch
+				throw new OrderViolationException();
+			}
+			merged.add(item);
+			j++;
+		}
+		elements = merged;
+	}
+	
 	/**
 	 * Returns the number of items in this list.
 	 * 
@@ -164,6 +264,16 @@ public class OrderedList<T extends Comparable<T>> {
 		}
 	}
 	
+	/**
+	 * Returns a read-only snapshot of this list, laid out for fast searching.
+	 * Changes made to this list after the call are not seen by the snapshot.
+	 * 
+	 * @return Frozen snapshot of this list.
+	 */
+	public FrozenOrderedList<T> freeze() {
+		return new FrozenOrderedList<T>(this);
+	}
+	
 	/**
 	 * Returns the item at a given position in this list.
 	 * 
@@ -0,0 +1,19 @@
+package structures.linear;
+
+/**
+ * This interface is implemented by a client to test items against some
+ * client-specific condition, for instance to select the items that
+ * LinkedList.removeIf should remove.
+ * 
+ * @param <T> The type of objects that are tested.
+ */
+public interface Predicate<T> {
+	
+	/**
+	 * Tests a given item.
+	 * 
+	 * @param item Item to be tested.
+	 * @return True if the item satisfies the condition, false otherwise.
+	 */
+	boolean test(T item);
+}
@@ -1,5 +1,6 @@
 package structures.linear;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
@@ -9,7 +10,7 @@ import java.util.NoSuchElementException;
  *
  * @param <T> The type of objects to be stored in this queue.
  */
-public class Queue<T> {
+public class Queue<T> implements Iterable<T> {
 	
 	/**
 	 * Items in this queue, stored in a generic linked list.  
@@ -22,12 +23,20 @@ public class Queue<T> {
 	 */
 	int cursor;
 	
+	/**
+	 * Node at the cursor position, so that next( ) can step to the following node
+	 * instead of walking from the front. Null if it must be looked up again
+	 * because this queue was modified.
+	 */
+	Node<T> cursorNode;
+	
 	/**
 	 * Initializes this queue to empty.
 	 */
 	public Queue() {
 		list = new LinkedList<T>();
 		cursor = -1;
+		cursorNode = null;
 	}
 	
 	/**
@@ -49,6 +58,7 @@ public class Queue<T> {
 		if (list.isEmpty()) {
 			throw new NoSuchElementException();
 		}
+		cursorNode = null;
 		return list.removeAt(0);
 	}
 	
@@ -86,6 +96,7 @@ public class Queue<T> {
 	 */
 	public void clear() {
 		list.clear();
+		cursorNode = null;
 	}
 	
 	/**
@@ -96,6 +107,7 @@ public class Queue<T> {
 	 */
 	public void remove(T item) { 
 		list.remove(item);
+		cursorNode = null;
 	}
 	
 	/**
@@ -106,6 +118,7 @@ public class Queue<T> {
 	 */
 	public void removeAll(T item) {
 		list.removeAll(item);
+		cursorNode = null;
 	}
 	
 	/**
@@ -119,7 +132,8 @@ public class Queue<T> {
 			return null;
 		}
 		cursor = 0;
-		return list.getAt(cursor);
+		cursorNode = list.nodeAt(cursor);
+		return cursorNode.data;
 	}
 	
 	/**
@@ -136,6 +150,35 @@ public class Queue<T> {
 			return null;
 		}
 		cursor++;
-		return list.getAt(cursor);
+		if (cursorNode == null) {
+			cursorNode = list.nodeAt(cursor);
+		} else {
+			cursorNode = cursorNode.next;
+		}
+		return cursorNode.data;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this queue, front to back. A full traversal
+	 * with the iterator takes time linear in the size of this queue.
+	 * 
+	 * @return Iterator over the items in this queue.
+	 */
+	public Iterator<T> iterator() {
+		final Iterator<T> it = list.iterator();
+		return new Iterator<T>() {
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+			
+			public T next() {
+				return it.next();
+			}
+			
+			public void remove() {
+				it.remove();
+				cursorNode = null;  // next( ) must look up its node again
+			}
+		};
 	}
 }
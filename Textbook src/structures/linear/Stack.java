@@ -1,5 +1,6 @@
 package structures.linear;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
@@ -9,7 +10,7 @@ import java.util.NoSuchElementException;
  *
  * @param <T> The type of objects to be stored in this stack.
  */
-public class Stack<T> {
+public class Stack<T> implements Iterable<T> {
 	
 	/**
 	 * Items in this stack, stored in a generic linked list.  
@@ -22,12 +23,20 @@ public class Stack<T> {
 	 */
 	int cursor;
 	
+	/**
+	 * Node at the cursor position, so that next( ) can step to the following node
+	 * instead of walking from the front. Null if it must be looked up again
+	 * because this stack was modified.
+	 */
+	Node<T> cursorNode;
+	
 	/**
 	 * Initializes this stack to empty.
 	 */
 	public Stack() {
 		list = new LinkedList<T>();
 		cursor = -1;
+		cursorNode = null;
 	}
 	
 	/**
@@ -41,6 +50,7 @@ public class Stack<T> {
 		} else {
 			list.insertAt(item,0);
 		}
+		cursorNode = null;
 	}
 	
 	/**
@@ -53,6 +63,7 @@ public class Stack<T> {
 		if (list.isEmpty()) {
 			throw new NoSuchElementException();
 		}
+		cursorNode = null;
 		return list.removeAt(0);
 	}
 	
@@ -79,6 +90,7 @@ public class Stack<T> {
 	 */
 	public void clear() {
 		list.clear();
+		cursorNode = null;
 	}
 	
 	/**
@@ -92,7 +104,8 @@ public class Stack<T> {
 			return null;
 		}
 		cursor = 0;
-		return list.getAt(cursor);
+		cursorNode = list.nodeAt(cursor);
+		return cursorNode.data;
 	}
 	
 	/**
@@ -109,6 +122,35 @@ public class Stack<T> {
 			return null;
 		}
 		cursor++;
-		return list.getAt(cursor);
+		if (cursorNode == null) {
+			cursorNode = list.nodeAt(cursor);
+		} else {
+			cursorNode = cursorNode.next;
+		}
+		return cursorNode.data;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this stack, top to bottom. A full traversal
+	 * with the iterator takes time linear in the size of this stack.
+	 * 
+	 * @return Iterator over the items in this stack.
+	 */
+	public Iterator<T> iterator() {
+		final Iterator<T> it = list.iterator();
+		return new Iterator<T>() {
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+			
+			public T next() {
+				return it.next();
+			}
+			
+			public void remove() {
+				it.remove();
+				cursorNode = null;  // next( ) must look up its node again
+			}
+		};
 	}
 }
@@ -0,0 +1,268 @@
+package structures.linear;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * This class implements the "merging" operations union, intersection, and 
+ * difference of Merger on ordered streams of items instead of on ordered lists.
+ * A merge reads its inputs one item at a time, and hands out its result one item
+ * at a time, so merges can be chained, and the whole chain runs in memory that
+ * does not depend on the lengths of the inputs. The results are the same as
+ * those of the corresponding Merger methods on lists holding the same items.
+ * Like Merger, it is a utility class with only static methods.
+ */
+public class StreamMerger {
+	
+	/**
+	 * This interface is implemented by an ordered stream of items.
+	 * 
+	 * @param <T> The type of items in the stream.
+	 */
+	public interface Source<T> {
+		
+		/**
+		 * Returns the next item in this stream.
+		 * 
+		 * @return Next item, null if the end of the stream has been reached.
+		 * @throws IOException If there is an error reading the underlying input.
+		 * @throws OrderViolationException If the next item is not greater than the
+		 * 			item before it.
+		 */
+		T next() throws IOException;
+	}
+	
+	/**
+	 * Prevents instantiation.
+	 * 
+	 */
+	private StreamMerger() { }
+	
+	/**
+	 * Returns a stream of the whitespace-separated tokens read from a given reader,
+	 * as would be returned by successive calls to Scanner.next( ). The reader is
+	 * buffered, and only the current token is held in memory.
+	 * 
+	 * @param in Reader from which tokens are read.
+	 * @return Stream of tokens.
+	 */
+	public static Source<String> tokens(final Reader in) {
+		final BufferedReader br = in instanceof BufferedReader ? 
+				(BufferedReader)in : new BufferedReader(in, 1 << 16);
+		return new Source<String>() {
+			StringBuilder token = new StringBuilder();
+			
+			public String next() throws IOException {
+				int c = br.read();
+				while (c != -1 && Character.isWhitespace(c)) { // skip to start of token
+					c = br.read();
+				}
+				if (c == -1) {
+					return null;
+				}
+				token.setLength(0);
+				while (c != -1 && !Character.isWhitespace(c)) {
+					token.append((char)c);
+					c = br.read();
+				}
+				return token.toString();
+			}
+		};
+	}
+	
+	/**
+	 * One-item lookahead on a source, which also checks that the source is in order.
+	 * 
+	 * @param <T> The type of items in the source.
+	 */
+	static class Finger<T extends Comparable<T>> {
+		
+		/**
+		 * The source.
+		 */
+		Source<T> src;
+		
+		/**
+		 * Current item, null once the source is exhausted.
+		 */
+		T item;
+		
+		/**
+		 * Initializes a finger at the first item of the source.
+		 * 
+		 * @param src The source
+		 * @throws IOException If there is an error reading the source.
+		 */
+		Finger(Source<T> src) throws IOException {
+			this.src = src;
+			item = src.next();
+		}
+		
+		/**
+		 * Moves to the next item of the source.
+		 * 
+		 * @throws IOException If there is an error reading the source.
+		 * @throws OrderViolationException If the next item is not greater than the current one.
+		 */
+		void advance() throws IOException {
+			T next = src.next();
+			if (next != null && next.compareTo(item) <= 0) {
+				throw new OrderViolationException(next + " after " + item);
+			}
+			item = next;
+		}
+	}
+	
+	/**
+	 * Returns the (set) union of two ordered streams. Items are read from the inputs
+	 * as the result is read.
+	 * 
+	 * @param <T> The type of items in the streams
+	 * @param first The first ordered stream
+	 * @param second The second ordered stream
+	 * @return An ordered stream that is the union of the two input streams
+	 */
+	public static <T extends Comparable<T>> 
+	Source<T> union(final Source<T> first, final Source<T> second) {
+		return new Source<T>() {
+			Finger<T> f1, f2;
+			
+			public T next() throws IOException {
+				if (f1 == null) { // first call, prime the fingers
+					f1 = new Finger<T>(first);
+					f2 = new Finger<T>(second);
+				}
+				T item;
+				if (f1.item == null) {
+					if (f2.item == null) {
+						return null;
+					}
+					item = f2.item;
+					f2.advance();
+				} else if (f2.item == null) {
+					item = f1.item;
+					f1.advance();
+				} else {
+					int c = f1.item.compareTo(f2.item);
+					if (c == 0) {
+						item = f1.item;
+						f1.advance(); f2.advance();
+					} else if (c < 0) {
+						item = f1.item;
+						f1.advance();
+					} else {
+						item = f2.item;
+						f2.advance();
+					}
+				}
+				return item;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the (set) difference of two ordered streams, i.e. the items of the first
+	 * stream that are not in the second. Items are read from the inputs as the result
+	 * is read.
+	 * 
+	 * @param <T> The type of items in the streams
+	 * @param first The first ordered stream
+	 * @param second The second ordered stream
+	 * @return An ordered stream that is the difference of the first with the second
+	 */
+	public static <T extends Comparable<T>> 
+	Source<T> difference(final Source<T> first, final Source<T> second) {
+		return new Source<T>() {
+			Finger<T> f1, f2;
+			
+			public T next() throws IOException {
+				if (f1 == null) { // first call, prime the fingers
+					f1 = new Finger<T>(first);
+					f2 = new Finger<T>(second);
+				}
+				while (f1.item != null) {
+					if (f2.item == null) {
+						T item = f1.item;
+						f1.advance();
+						return item;
+					}
+					int c = f1.item.compareTo(f2.item);
+					if (c == 0) {
+						f1.advance(); f2.advance();
+					} else if (c < 0) {
+						T item = f1.item;
+						f1.advance();
+						return item;
+					} else {
+						f2.advance();
+					}
+				}
+				return null;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the (set) intersection of two ordered streams. Items are read from the
+	 * inputs as the result is read.
+	 * 
+	 * @param <T> The type of items in the streams
+	 * @param first The first ordered stream
+	 * @param second The second ordered stream
+	 * @return An ordered stream that is the intersection of the two input streams
+	 */
+	public static <T extends Comparable<T>> 
+	Source<T> intersection(final Source<T> first, final Source<T> second) {
+		return new Source<T>() {
+			Finger<T> f1, f2;
+			
+			public T next() throws IOException {
+				if (f1 == null) { // first call, prime the fingers
+					f1 = new Finger<T>(first);
+					f2 = new Finger<T>(second);
+				}
+				while (f1.item != null && f2.item != null) {
+					int c = f1.item.compareTo(f2.item);
+					if (c == 0) {
+						T item = f1.item;
+						f1.advance(); f2.advance();
+						return item;
+					} else if (c < 0) {
+						f1.advance();
+					} else {
+						f2.advance();
+					}
+				}
+				return null;
+			}
+		};
+	}
+	
+	/**
+	 * Writes out all items of a stream, separated by a given separator string.
+	 * 
+	 * @param <T> The type of items in the stream
+	 * @param src The stream
+	 * @param out Writer to which items are written
+	 * @param separator String written between successive items
+	 * @return Number of items written
+	 * @throws IOException If there is an error reading the stream or writing the output.
+	 */
+	public static <T> int write(Source<T> src, Writer out, String separator) 
+	throws IOException {
+		int n = 0;
+		T item = src.next();
+		while (item != null) {
+			if (n > 0) {
+				out.write(separator);
+			}
+			out.write(item.toString());
+			n++;
+			item = src.next();
+		}
+		out.flush();
+		return n;
+	}
+}
@@ -0,0 +1,438 @@
+package structures.linear;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a generic unrolled linked list, in which every node holds
+ * a small array of items instead of a single item. Compared to LinkedList, there
+ * is one node header and next reference per block of items instead of per item,
+ * and neighboring items sit next to each other in memory, so the list takes
+ * less space and is faster to walk. It has the same methods as LinkedList.
+ * 
+ * @param <T> The type of objects to be stored in this list.
+ */
+public class UnrolledLinkedList<T> implements Iterable<T> {
+	
+	/**
+	 * Helper class that implements the nodes of an unrolled linked list. 
+	 */
+	static class Block {
+		
+		/**
+		 * Items in this block, in positions 0 through n-1.
+		 */
+		Object[] items;
+		
+		/**
+		 * Number of items in this block.
+		 */
+		int n;
+		
+		/**
+		 * Next block.
+		 */
+		Block next;
+		
+		/**
+		 * Initializes an empty block with given capacity.
+		 * 
+		 * @param cap Capacity of block.
+		 */
+		Block(int cap) {
+			items = new Object[cap];
+			n = 0;
+			next = null;
+		}
+	}
+	
+	/**
+	 * Default number of items per block.
+	 */
+	static final int DEFAULT_BLOCK_SIZE = 32;
+	
+	/**
+	 * Number of items that fit in a block.
+	 */
+	final int blockSize;
+	
+	/**
+	 * First block, null if this list is empty.
+	 */
+	Block head;
+	
+	/**
+	 * Last block, null if this list is empty.
+	 */
+	Block tail;
+	
+	/**
+	 * Number of items in this list.
+	 */
+	int count;
+	
+	/**
+	 * Initializes this list to empty, with the default block size.
+	 */
+	public UnrolledLinkedList() {
+		this(DEFAULT_BLOCK_SIZE);
+	}
+	
+	/**
+	 * Initializes this list to empty, with a given block size.
+	 * 
+	 * @param blockSize Number of items per block, at least 2. Sizes of 16 to 64 are 
+	 * 			a good trade-off between space and the cost of shifting items within a block.
+	 * @throws IllegalArgumentException If blockSize is less than 2.
+	 */
+	public UnrolledLinkedList(int blockSize) {
+		if (blockSize < 2) {
+			throw new IllegalArgumentException("blockSize < 2");
+		}
+		this.blockSize = blockSize;
+		head = null;
+		tail = null;
+		count = 0;
+	}
+	
+	/**
+	 * Adds a new item to the end of this list.
+	 * 
+	 * @param item The item to be added to the end of this list.
+	 */
+	public void add(T item) {
+		if (tail == null || tail.n == blockSize) {
+			Block b = new Block(blockSize);
+			if (tail == null) {
+				head = b;
+			} else {
+				tail.next = b;
+			}
+			tail = b;
+		}
+		tail.items[tail.n++] = item;
+		count++;
+	}
+	
+	/**
+	 * Splits a full block in two, moving the upper half of its items to a new
+	 * block that follows it.
+	 * 
+	 * @param b Block to be split.
+	 */
+	void split(Block b) {
+		Block b2 = new Block(blockSize);
+		int half = b.n / 2;
+		b2.n = b.n - half;
+		System.arraycopy(b.items, half, b2.items, 0, b2.n);
+		for (int i=half; i < b.n; i++) {
+			b.items[i] = null;
+		}
+		b.n = half;
+		b2.next = b.next;
+		b.next = b2;
+		if (tail == b) {
+			tail = b2;
+		}
+	}
+	
+	/**
+	 * Inserts a new item at a given index in this list. 
+	 * 
+	 * @param item Item to be inserted.
+	 * @param index Index of inserted item.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this list.
+	 */
+	public void insertAt(T item, int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException(index + " < 0 or >= " + count);
+		}
+		
+		// find block that holds index
+		Block b = head;
+		while (index >= b.n) {
+			index -= b.n;
+			b = b.next;
+		}
+		
+		if (b.n == blockSize) { // make room
+			split(b);
+			if (index >= b.n) {
+				index -= b.n;
+				b = b.next;
+			}
+		}
+		System.arraycopy(b.items, index, b.items, index+1, b.n-index);
+		b.items[index] = item;
+		b.n++;
+		count++;
+	}
+	
+	/**
+	 * Removes the item at a given position in a given block, and merges the block
+	 * with its successor if it drops under half full and both fit in one block.
+	 * 
+	 * @param prev Block before b, null if b is the first block.
+	 * @param b Block that holds the item.
+	 * @param index Position of item in b.
+	 * @return The removed item.
+	 */
+	@SuppressWarnings("unchecked")
+	T removeFrom(Block prev, Block b, int index) {
+		T ret = (T)b.items[index];
+		System.arraycopy(b.items, index+1, b.items, index, b.n-index-1);
+		b.items[--b.n] = null;
+		count--;
+		
+		if (b.n == 0) { // unlink empty block
+			if (prev == null) {
+				head = b.next;
+			} else {
+				prev.next = b.next;
+			}
+			if (tail == b) {
+				tail = prev;
+			}
+		} else if (b.n < blockSize/2 && b.next != null && b.n + b.next.n <= blockSize) {
+			// under half full, merge with next
+			Block b2 = b.next;
+			System.arraycopy(b2.items, 0, b.items, b.n, b2.n);
+			b.n += b2.n;
+			b.next = b2.next;
+			if (tail == b2) {
+				tail = b;
+			}
+		}
+		return ret;
+	}
+	
+	/**
+	 * Removes the first occurrence of a given item from this list.
+	 * 
+	 * @param item Item to be removed.
+	 * @throws NoSuchElementException If this list does not contain the given item.
+	 */
+	public void remove(T item) {
+		Block prev = null;
+		for (Block b=head; b != null; b=b.next) {
+			for (int i=0; i < b.n; i++) {
+				if (item.equals(b.items[i])) {
+					removeFrom(prev, b, i);
+					return;
+				}
+			}
+			prev = b;
+		}
+		throw new NoSuchElementException();
+	}
+	
+	/**
+	 * Removes the item at a given index.
+	 * 
+	 * @param index Index of item to be removed.
+	 * @return The removed item.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this list.
+	 */
+	public T removeAt(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException(index + " < 0 or >= " + count);
+		}
+		Block prev = null, b = head;
+		while (index >= b.n) {
+			index -= b.n;
+			prev = b;
+			b = b.next;
+		}
+		return removeFrom(prev, b, index);
+	}
+	
+	/**
+	 * Removes all occurrences of a given item from this list, compacting
+	 * the remaining items in a single pass. A block that, after compacting, fits
+	 * in the block before it is merged into that block.
+	 * 
+	 * @param item The item, all instances of which are to be removed from this list.
+	 * @throws NoSuchElementException If this list does not contain the given item.
+	 */
+	public void removeAll(T item) {
+		int oldcount = count;
+		Block prev = null, b = head;
+		while (b != null) {
+			int kept = 0;
+			for (int i=0; i < b.n; i++) {
+				if (!item.equals(b.items[i])) {
+					b.items[kept++] = b.items[i];
+				}
+			}
+			for (int i=kept; i < b.n; i++) {
+				b.items[i] = null;
+			}
+			count -= b.n - kept;
+			b.n = kept;
+			if (kept == 0) { // unlink empty block
+				if (prev == null) {
+					head = b.next;
+				} else {
+					prev.next = b.next;
+				}
+				if (tail == b) {
+					tail = prev;
+				}
+			} else if (prev != null && prev.n + kept <= blockSize) {
+				// fits in previous block, merge
+				System.arraycopy(b.items, 0, prev.items, prev.n, kept);
+				prev.n += kept;
+				prev.next = b.next;
+				if (tail == b) {
+					tail = prev;
+				}
+			} else {
+				prev = b;
+			}
+			b = b.next;
+		}
+		if (count == oldcount) { // no match
+			throw new NoSuchElementException();
+		}
+	}
+	
+	/**
+	 * Empties this list by removing all items.
+	 */
+	public void clear() {
+		head = null;
+		tail = null;
+		count = 0;
+	}
+	
+	/**
+	 * Replaces the item in this list at a given index by a given item.
+	 * 
+	 * @param item Item that replaces existing item.
+	 * @param index Index at which replacement is done.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this list.
+	 */
+	public void setAt(T item, int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException(index + " < 0 or >= " + count);
+		}
+		Block b = head;
+		while (index >= b.n) {
+			index -= b.n;
+			b = b.next;
+		}
+		b.items[index] = item;
+	}
+	
+	/**
+	 * Returns the item at the specified index in this list. Whole blocks are 
+	 * skipped over, so this takes O(n/B) time for a block size of B.
+	 * 
+	 * @param index Position in this list from which item is to be returned.
+	 * @return Item at specified index.
+	 * @throws IndexOutOfBoundsException If the index is < 0 or >= number of 
+	 *         items currently in this list.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getAt(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException(index + " < 0 or >= " + count);
+		}
+		Block b = head;
+		while (index >= b.n) {
+			index -= b.n;
+			b = b.next;
+		}
+		return (T)b.items[index];
+	}
+	
+	/**
+	 * Returns the index of a given item in this list.
+	 * 
+	 * @param item Item for which index is to be found.
+	 * @return Index of the given item, -1 if the item is not in this list.
+	 */
+	public int indexOf(T item) {
+		int base = 0;
+		for (Block b=head; b != null; b=b.next) {
+			for (int i=0; i < b.n; i++) {
+				if (item.equals(b.items[i])) {
+					return base + i;
+				}
+			}
+			base += b.n;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the number of items in this list.
+	 * 
+	 * @return Number of items in this list.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Tells whether this list is empty or not.
+	 * 
+	 * @return True if this list is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this list, front to back. Its remove
+	 * method removes the item last returned as removeAt does, merging blocks
+	 * if needed.
+	 * 
+	 * @return Iterator over the items in this list.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			Block prev = null;  // block before b
+			Block b = head;
+			int i = 0;          // position in b of the next item, if b has one
+			boolean canRemove = false;
+			
+			public boolean hasNext() {
+				// blocks are never empty, so the next block, if any, has an item
+				return b != null && (i < b.n || b.next != null);
+			}
+			
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				if (i == b.n) {
+					prev = b;
+					b = b.next;
+					i = 0;
+				}
+				canRemove = true;
+				return (T)b.items[i++];
+			}
+			
+			public void remove() {
+				if (!canRemove) {
+					throw new IllegalStateException();
+				}
+				Block after = b.next;
+				removeFrom(prev, b, i-1);
+				if (b.n == 0) { // b was unlinked, continue with the block after it
+					b = after;
+					i = 0;
+				} else {        // items after the removed one, merged ones too, moved down
+					i--;
+				}
+				canRemove = false;
+			}
+		};
+	}
+}
@@ -0,0 +1,219 @@
+package structures.tree;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a generic AVL tree, a binary search tree that keeps itself
+ * balanced: at every node, the heights of the left and right subtrees differ by at
+ * most one. The height of the tree is therefore O(log n), even when the keys are
+ * inserted in sorted order, and so is the cost of search, insert and delete. Duplicate
+ * keys are not permitted.
+ * 
+ * @param <T> The type of data stored in the nodes of the tree, must implement
+ * 				Comparable<T> with the compareTo method.
+ */
+public class AVLTree<T extends Comparable<T>> extends BinarySearchTree<T> {
+	
+	/**
+	 * A binary tree node that also keeps the height of the subtree rooted at it.
+	 */
+	static class AVLNode<T> extends BinaryTree<T> {
+		
+		/**
+		 * Height of the subtree rooted at this node, 1 for a leaf.
+		 */
+		int height;
+		
+		/**
+		 * Initializes this node to empty, with the height of a leaf.
+		 */
+		AVLNode() {
+			super();
+			height = 1;
+		}
+	}
+	
+	/**
+	 * Initializes this AVL tree instance to empty.
+	 */
+	public AVLTree() {
+		super();
+	}
+	
+	/* (non-Javadoc)
+	 * @see structures.tree.BinarySearchTree#newNode()
+	 */
+	protected BinaryTree<T> newNode() {
+		return new AVLNode<T>();
+	}
+	
+	/**
+	 * Builds a balanced AVL tree, in linear time, from given items that are in 
+	 * ascending order of keys. 
+	 * 
+	 * @param items Items in ascending order.
+	 * @return New AVL tree holding the items.
+	 * @throws OrderViolationException If the items are not in strictly ascending order,
+	 * 								i.e. if they are out of order or there are duplicates.
+	 */
+	public static <T extends Comparable<T>> AVLTree<T> fromSorted(T[] items) {
+		AVLTree<T> avl = new AVLTree<T>();
+		avl.load(checkSorted(items));
+		return avl;
+	}
+	
+	/* (non-Javadoc)
+	 * @see structures.tree.BinarySearchTree#newTree()
+	 */
+	protected BinarySearchTree<T> newTree() {
+		return new AVLTree<T>();
+	}
+	
+	/**
+	 * Splits this AVL tree at a given key: items with keys greater than or equal to the
+	 * key are moved to a new AVL tree, and the rest stay in this one. Cutting along the 
+	 * search path, as BinarySearchTree does, would leave the trees unbalanced, so both
+	 * are rebuilt from their items instead, in time linear in the size of this tree.
+	 * 
+	 * @param key Key at which to split.
+	 * @return New AVL tree with the items whose keys are >= key.
+	 */
+	public AVLTree<T> split(T key) {
+		Object[] items = toArray();
+		int cut = rank(key);
+		AVLTree<T> upper = new AVLTree<T>();
+		upper.load(Arrays.copyOfRange(items, cut, items.length));
+		load(Arrays.copyOfRange(items, 0, cut));
+		return upper;
+	}
+	
+	/**
+	 * Moves the items of a given BST, whose keys are all greater than the keys in this
+	 * AVL tree, into this tree, leaving it empty. The combined items are rebuilt into a 
+	 * balanced tree, in time linear in the total number of items.
+	 * 
+	 * @param right BST with the higher keys.
+	 */
+	protected void append(BinarySearchTree<T> right) {
+		if (right.isEmpty()) {
+			return;
+		}
+		Object[] low = toArray();
+		Object[] high = right.toArray();
+		Object[] items = Arrays.copyOf(low, low.length + high.length);
+		System.arraycopy(high, 0, items, low.length, high.length);
+		load(items);
+		right.tree = right.newNode();
+		right.size = 0;
+		right.modCount++;
+	}
+	
+	/**
+	 * Returns the height of a given subtree.
+	 * 
+	 * @param node Root of subtree.
+	 * @return Height of subtree, 0 if it is empty.
+	 */
+	static <T> int height(BinaryTree<T> node) {
+		return node == null ? 0 : ((AVLNode<T>)node).height;
+	}
+	
+	/**
+	 * Recomputes the height of a given node from the heights of its children.
+	 * 
+	 * @param node Node whose height is to be recomputed.
+	 */
+	static <T> void updateHeight(BinaryTree<T> node) {
+		((AVLNode<T>)node).height = 1 + Math.max(height(node.left), height(node.right));
+	}
+	
+	/**
+	 * Puts a given node in the place of another in the tree, as the child of the 
+	 * other's parent, or as the root.
+	 * 
+	 * @param old Node that is replaced.
+	 * @param node Node that takes its place.
+	 */
+	void replaceChild(BinaryTree<T> old, BinaryTree<T> node) {
+		BinaryTree<T> parent = old.parent;
+		node.parent = parent;
+		if (parent == null) {
+			tree = node;
+		} else if (parent.left == old) {
+			parent.left = node;
+		} else {
+			parent.right = node;
+		}
+	}
+	
+	/**
+	 * Rotates the subtree rooted at a given node to the left, so that its right child
+	 * becomes the root of the subtree.
+	 * 
+	 * @param x Root of subtree, with a right child.
+	 * @return New root of subtree.
+	 */
+	BinaryTree<T> rotateLeft(BinaryTree<T> x) {
+		BinaryTree<T> y = x.right;
+		replaceChild(x, y);
+		x.right = y.left;
+		if (y.left != null) {
+			y.left.parent = x;
+		}
+		y.left = x;
+		x.parent = y;
+		y.size = x.size;  // y now roots the same nodes that x did
+		x.size = 1 + sizeOf(x.left) + sizeOf(x.right);
+		updateHeight(x);
+		updateHeight(y);
+		return y;
+	}
+	
+	/**
+	 * Rotates the subtree rooted at a given node to the right, so that its left child
+	 * becomes the root of the subtree.
+	 * 
+	 * @param x Root of subtree, with a left child.
+	 * @return New root of subtree.
+	 */
+	BinaryTree<T> rotateRight(BinaryTree<T> x) {
+		BinaryTree<T> y = x.left;
+		replaceChild(x, y);
+		x.left = y.right;
+		if (y.right != null) {
+			y.right.parent = x;
+		}
+		y.right = x;
+		x.parent = y;
+		y.size = x.size;  // y now roots the same nodes that x did
+		x.size = 1 + sizeOf(x.left) + sizeOf(x.right);
+		updateHeight(x);
+		updateHeight(y);
+		return y;
+	}
+	
+	/**
+	 * Goes up from a given node to the root, recomputing heights and doing a single or
+	 * double rotation at every node where the subtree heights differ by two.
+	 * 
+	 * @param node Node to start at, null if there is nothing to do.
+	 */
+	protected void rebalance(BinaryTree<T> node) {
+		while (node != null) {
+			updateHeight(node);
+			int balance = height(node.left) - height(node.right);
+			if (balance > 1) { // left heavy
+				if (height(node.left.left) < height(node.left.right)) {
+					rotateLeft(node.left);
+				}
+				node = rotateRight(node);
+			} else if (balance < -1) { // right heavy
+				if (height(node.right.right) < height(node.right.left)) {
+					rotateRight(node.right);
+				}
+				node = rotateLeft(node);
+			}
+			node = node.parent;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package structures.tree;
+
+/**
+ * This class implements the cursors of a BinarySearchTree. Cursors are handed out by
+ * the floorNode, ceilingNode, nodeOf, firstNode and lastNode methods of the tree, and
+ * are stepped through the items in key order with its successor and predecessor
+ * methods. A cursor only gives out its item, so the tree cannot be changed through it.
+ * A cursor stays valid until its tree is next changed, by an insert, delete, split or
+ * join, after which the tree no longer accepts it.
+ * 
+ * @param <T> The type of objects stored in the tree.
+ */
+public class BSTCursor<T extends Comparable<T>> {
+	
+	/**
+	 * Data
+	 */
+	T data;
+	
+	/**
+	 * Node of the tree at which this cursor is.
+	 */
+	BinaryTree<T> node;
+	
+	/**
+	 * Tree that this cursor is on.
+	 */
+	BinarySearchTree<T> owner;
+	
+	/**
+	 * Change count of the tree when this cursor was made.
+	 */
+	int modCount;
+	
+	/**
+	 * Initializes cursor at a given node of a given tree.
+	 * 
+	 * @param node Node at which the cursor is
+	 * @param tree Tree that the node is in
+	 */
+	BSTCursor(BinaryTree<T> node, BinarySearchTree<T> tree) {
+		data = node.data;
+		this.node = node;
+		owner = tree;
+		modCount = tree.modCount;
+	}
+	
+	/**
+	 * Returns the data at this cursor.
+	 * 
+	 * @return Data at this cursor.
+	 */
+	public T getData() {
+		return data;
+	}
+	
+	/**
+	 * Tells whether this cursor is still valid, i.e. whether its tree has not been
+	 * changed since the cursor was made.
+	 * 
+	 * @return True if this cursor is valid, false otherwise.
+	 */
+	public boolean isValid() {
+		return owner.modCount == modCount;
+	}
+}
@@ -1,18 +1,20 @@
 package structures.tree;
 
 import structures.linear.OrderViolationException;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
  * This class implements a simple (not balanced) generic binary search tree. Duplicate keys
- * are not permitted.
+ * are not permitted. Subclasses may keep the tree balanced by creating their own kind of
+ * node, and restructuring the tree after every insertion and deletion; see AVLTree.
  * 
  * @author Sesh Venugopal
  *
  * @param <T> The type of data stored in the nodes of the tree, must implement
  * 				Comparable<T> with the compareTo method.
  */
-public class BinarySearchTree<T extends Comparable<T>> {
+public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T> {
 	
 	/**
 	 * Binary tree component which maintains the tree structure.
@@ -24,14 +26,41 @@ public class BinarySearchTree<T extends Comparable<T>> {
 	 */
 	int size;
 	
+	/**
+	 * Number of times this BST has been changed, so that cursors made before the 
+	 * latest change can be told apart.
+	 */
+	int modCount;
+	
 	/**
 	 * Initializes this BST instance to empty.
 	 */
 	public BinarySearchTree() {
-		tree = new BinaryTree<T>();
+		tree = newNode();
 		size = 0;
 	}
 	
+	/**
+	 * Creates a new, empty tree node. Subclasses that keep extra information at 
+	 * nodes override this method to create their own kind of node.
+	 * 
+	 * @return New node.
+	 */
+	protected BinaryTree<T> newNode() {
+		return new BinaryTree<T>();
+	}
+	
+	/**
+	 * Restores the balance of this BST after a node has been linked in or unlinked,
+	 * starting at a given node and going up to the root. This (default) implementation
+	 * does nothing.
+	 * 
+	 * @param node Parent of the node that was linked in or unlinked, null if that
+	 * 			node was the root.
+	 */
+	protected void rebalance(BinaryTree<T> node) {
+	}
+	
 	/**
 	 * Tells whether this BST is empty or not.
 	 * 
@@ -65,6 +94,29 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		}
 	}
 	
+	/**
+	 * Implements an iterative binary search on this BST, looking for a given key. 
+	 * Unlike recursiveSearch, it uses constant stack space however tall the tree is. 
+	 * 
+	 * @param key Key that is searched for.
+	 * @return The node whose data matches the key, null if no match is found for the
+	 * 			key in this BST.
+	 */
+	protected BinaryTree<T> find(T key) {
+		if (tree.isEmpty()) {
+			return null;
+		}
+		BinaryTree<T> root = tree;
+		while (root != null) {
+			int c = key.compareTo(root.data);
+			if (c == 0) {
+				return root;
+			}
+			root = c < 0 ? root.left : root.right;
+		}
+		return null;
+	}
+	
 	/**
 	 * Searches this BST for a given key.
 	 * 
@@ -73,10 +125,8 @@ public class BinarySearchTree<T extends Comparable<T>> {
 	 * 			found for the key in this BST.
 	 */
 	public T search(T key) {
-		if (tree.isEmpty()) { 
-			return null;
-		}
-		return recursiveSearch(tree, key).data;
+		BinaryTree<T> node = find(key);
+		return node == null ? null : node.data;
 	}
 	
 	/**
@@ -91,8 +141,22 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		if (tree.isEmpty()) { // insert here
 			tree.makeRoot(item);
 			size++;
+			modCount++;
 			return;
 		}
+		rebalance(insertNode(item).parent);
+	}
+	
+	/**
+	 * Links a new node with a given item into this BST, which must not be empty, as
+	 * a leaf.
+	 * 
+	 * @param item Item to be inserted.
+	 * @return The new node.
+	 * @throws OrderViolationException If there is already a key in this BST that matches
+	 * 								this item, i.e. inserting would result in duplicate keys.
+	 */
+	protected BinaryTree<T> insertNode(T item) {
 		
 		// do an iterative descent
 		BinaryTree<T> root = tree;
@@ -105,26 +169,27 @@ public class BinarySearchTree<T extends Comparable<T>> {
 			}
 			if (c < 0) { // insert in left subtree
 				if (root.left == null) { // insert here as left child
-					newNode = new BinaryTree<T>();
-					root.left = newNode;
+					newNode = newNode();
+					newNode.makeRoot(item);
+					root.attachLeft(newNode);
 					done=true;
 				} else { // go further down left subtree
 					root = root.left;
 				}
 			} else { // insert in right subtree
 				if (root.right == null) { // insert here as right child 
-					newNode = new BinaryTree<T>();
-					root.right = newNode;
+					newNode = newNode();
+					newNode.makeRoot(item);
+					root.attachRight(newNode);
 					done=true;
 				} else { // go further down right subtree
 					root = root.right;
 				}
 			}
 		}
-		// set fields of new node
-		newNode.data = item;
-		newNode.parent = root;
 		size++;
+		modCount++;
+		return newNode;
 	}
 	
 	/**
@@ -140,19 +205,19 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		
 		// deleteNode has only one subtree, attach
 		BinaryTree<T> parent = deleteNode.parent;
-		deleteNode.clear();  // clear the fields
-		if (parent == null) {
-			return;
-		}
-		if (deleteNode == parent.left) {
-			// left child of parent, attach as left subtree
-			parent.detachLeft();
-			parent.attachLeft(attach);
-			return;
+		if (parent != null) {
+			// detach before clearing, so that parent sizes drop by the size of deleteNode
+			if (deleteNode == parent.left) {
+				// left child of parent, attach as left subtree
+				parent.detachLeft();
+				parent.attachLeft(attach);
+			} else {
+				// attach as right subtree
+				parent.detachRight();
+				parent.attachRight(attach);
+			}
 		}
-		// attach as right subtree
-		parent.detachRight();
-		parent.attachRight(attach);
+		deleteNode.clear();  // clear the fields
 	}
 	
 	/**
@@ -186,12 +251,27 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		}
 		
 		// find node containing key 
-		BinaryTree<T> deleteNode = recursiveSearch(tree, key);
+		BinaryTree<T> deleteNode = find(key);
 		if (deleteNode == null) { // data not found, can't delete
 			throw new NoSuchElementException();
 		}
 		
+		T item = deleteNode.data;
+		rebalance(removeNode(deleteNode));
+		return item;
+	}
+	
+	/**
+	 * Removes the item at a given node from this BST. If the node has two subtrees, the
+	 * item of its inorder predecessor is moved into it, and the predecessor node is
+	 * unlinked instead.
+	 * 
+	 * @param deleteNode Node whose item is to be removed.
+	 * @return Parent of the node that was unlinked, null if it was the root.
+	 */
+	protected BinaryTree<T> removeNode(BinaryTree<T> deleteNode) {
 		BinaryTree<T> hold;
+		modCount++;
 		
 		// case c: deleteNode has exactly two subtrees
 		if (deleteNode.right != null && deleteNode.left != null) {
@@ -200,11 +280,13 @@ public class BinarySearchTree<T extends Comparable<T>> {
 			deleteNode = hold; // fall through to case a or b
 		}
 		
+		BinaryTree<T> parent = deleteNode.parent;
+		
 		// case a: deleteNode is a leaf
 		if (deleteNode.left == null && deleteNode.right == null) {
 			deleteHere(deleteNode, null);
 			size--;
-			return deleteNode.data;
+			return parent;
 		}		
 		
 		// case b: deleteNode has exactly one subtree
@@ -219,9 +301,10 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		deleteHere(deleteNode,hold);
 		if (tree == deleteNode) { // root deleted
 			tree = hold;
+			tree.parent = null;
 		}
 		size--;
-		return deleteNode.data;
+		return parent;
 	}
 	
 	/**
@@ -275,6 +358,556 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		return size;
 	}
 	
+	/**
+	 * Returns the number of nodes in a given subtree.
+	 * 
+	 * @param node Root of subtree.
+	 * @return Number of nodes, 0 if the subtree is empty.
+	 */
+	static <T> int sizeOf(BinaryTree<T> node) {
+		return node == null ? 0 : node.size;
+	}
+	
+	/**
+	 * Returns the number of items in this BST whose keys are less than, or if asked
+	 * for, equal to, a given key. 
+	 * 
+	 * @param key Key to compare against.
+	 * @param inclusive True if items equal to the key are to be counted.
+	 * @return Number of items.
+	 */
+	int countBelow(T key, boolean inclusive) {
+		if (tree.isEmpty()) {
+			return 0;
+		}
+		int count = 0;
+		BinaryTree<T> root = tree;
+		while (root != null) {
+			int c = key.compareTo(root.data);
+			if (c < 0 || (c == 0 && !inclusive)) {
+				root = root.left;
+			} else {
+				// this node and its entire left subtree are counted
+				count += sizeOf(root.left) + 1;
+				root = root.right;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the rank of a given key in this BST, i.e. the number of items in this BST
+	 * whose keys are less than the given key. The key need not be in this BST. Takes 
+	 * time proportional to the height of this BST.
+	 * 
+	 * @param key Key whose rank is to be found.
+	 * @return Rank of key.
+	 */
+	public int rank(T key) {
+		return countBelow(key, false);
+	}
+	
+	/**
+	 * Returns the item of a given rank in this BST, i.e. the item that would be at a
+	 * given position if the items were listed in ascending order, the first being 
+	 * at position 0. Takes time proportional to the height of this BST.
+	 * 
+	 * @param k Rank of item.
+	 * @return Item of rank k.
+	 * @throws IndexOutOfBoundsException If k < 0 or k >= size of this BST.
+	 */
+	public T select(int k) {
+		if (k < 0 || k >= size) {
+			throw new IndexOutOfBoundsException(k + " < 0 or >= " + size);
+		}
+		BinaryTree<T> root = tree;
+		while (true) {
+			int leftSize = sizeOf(root.left);
+			if (k < leftSize) {
+				root = root.left;
+			} else if (k == leftSize) {
+				return root.data;
+			} else {
+				k -= leftSize + 1;
+				root = root.right;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of items in this BST whose keys lie within a given range, 
+	 * both ends included. Takes time proportional to the height of this BST.
+	 * 
+	 * @param lo Low end of range.
+	 * @param hi High end of range.
+	 * @return Number of items in range, 0 if lo > hi.
+	 */
+	public int countInRange(T lo, T hi) {
+		if (lo.compareTo(hi) > 0) {
+			return 0;
+		}
+		return countBelow(hi, true) - countBelow(lo, false);
+	}
+	
+	/**
+	 * Finds, in a single descent from the root, the node with the nearest key on 
+	 * a given side of a given key.
+	 * 
+	 * @param key Key to compare against.
+	 * @param below True for the greatest key below the given key, false for the 
+	 * 			least key above it.
+	 * @param inclusive True if a key equal to the given key qualifies.
+	 * @return Nearest node, null if there is none.
+	 */
+	BinaryTree<T> nearestNode(T key, boolean below, boolean inclusive) {
+		if (tree.isEmpty()) {
+			return null;
+		}
+		BinaryTree<T> best = null;
+		BinaryTree<T> root = tree;
+		while (root != null) {
+			int c = key.compareTo(root.data);
+			if (c == 0 && inclusive) {
+				return root;
+			}
+			if (below) {
+				if (c > 0) { // candidate, look for a greater one on the right
+					best = root;
+					root = root.right;
+				} else {
+					root = root.left;
+				}
+			} else {
+				if (c < 0) { // candidate, look for a smaller one on the left
+					best = root;
+					root = root.left;
+				} else {
+					root = root.right;
+				}
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Returns a cursor at a given node of this BST.
+	 * 
+	 * @param node Node of this BST, or null.
+	 * @return Cursor at the node, null if the node is null.
+	 */
+	BSTCursor<T> cursorAt(BinaryTree<T> node) {
+		return node == null ? null : new BSTCursor<T>(node, this);
+	}
+	
+	/**
+	 * Returns the node at which a given cursor is, after checking that the cursor
+	 * was made by this BST and that this BST has not been changed since.
+	 * 
+	 * @param cursor Cursor on this BST.
+	 * @return Node at the cursor.
+	 * @throws NoSuchElementException If the cursor is not on this BST, or is no 
+	 * 								longer valid.
+	 */
+	BinaryTree<T> nodeAt(BSTCursor<T> cursor) {
+		if (cursor.owner != this || cursor.modCount != modCount) {
+			throw new NoSuchElementException();
+		}
+		return cursor.node;
+	}
+	
+	/**
+	 * Returns a cursor at the node with the greatest key that is less than or equal 
+	 * to a given key. Together with predecessor and successor, it can be used to 
+	 * step through the items nearest to a key.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Cursor at the greatest key <= given key, null if there is none.
+	 */
+	public BSTCursor<T> floorNode(T key) {
+		return cursorAt(nearestNode(key, true, true));
+	}
+	
+	/**
+	 * Returns a cursor at the node with the smallest key that is greater than or 
+	 * equal to a given key. Together with predecessor and successor, it can be used 
+	 * to step through the items nearest to a key.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Cursor at the least key >= given key, null if there is none.
+	 */
+	public BSTCursor<T> ceilingNode(T key) {
+		return cursorAt(nearestNode(key, false, true));
+	}
+	
+	/**
+	 * Returns the item with the greatest key that is less than or equal to a given key.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Greatest item <= given key, null if there is none.
+	 */
+	public T floor(T key) {
+		BinaryTree<T> node = nearestNode(key, true, true);
+		return node == null ? null : node.data;
+	}
+	
+	/**
+	 * Returns the item with the smallest key that is greater than or equal to a given key.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Least item >= given key, null if there is none.
+	 */
+	public T ceiling(T key) {
+		BinaryTree<T> node = nearestNode(key, false, true);
+		return node == null ? null : node.data;
+	}
+	
+	/**
+	 * Returns the item with the greatest key that is strictly less than a given key.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Greatest item < given key, null if there is none.
+	 */
+	public T lower(T key) {
+		BinaryTree<T> node = nearestNode(key, true, false);
+		return node == null ? null : node.data;
+	}
+	
+	/**
+	 * Returns the item with the smallest key that is strictly greater than a given key.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Least item > given key, null if there is none.
+	 */
+	public T higher(T key) {
+		BinaryTree<T> node = nearestNode(key, false, false);
+		return node == null ? null : node.data;
+	}
+	
+	/**
+	 * Returns a cursor at the node that holds the item matching a given key.
+	 * 
+	 * @param key Key that is searched for.
+	 * @return Cursor at the item that matches the key, null if there is no match.
+	 */
+	public BSTCursor<T> nodeOf(T key) {
+		return cursorAt(find(key));
+	}
+	
+	/**
+	 * Returns a cursor at the node with the minimum key in this BST.
+	 * 
+	 * @return Cursor at the minimum key, null if this BST is empty.
+	 */
+	public BSTCursor<T> firstNode() {
+		return tree.isEmpty() ? null : cursorAt(leftmost(tree));
+	}
+	
+	/**
+	 * Returns a cursor at the node with the maximum key in this BST.
+	 * 
+	 * @return Cursor at the maximum key, null if this BST is empty.
+	 */
+	public BSTCursor<T> lastNode() {
+		return tree.isEmpty() ? null : cursorAt(rightmost(tree));
+	}
+	
+	/**
+	 * Returns the rightmost node of the subtree rooted at a given node, i.e. the last
+	 * node of the subtree in inorder.
+	 * 
+	 * @param node Root of subtree.
+	 * @return Rightmost node.
+	 */
+	static <T> BinaryTree<T> rightmost(BinaryTree<T> node) {
+		while (node.right != null) {
+			node = node.right;
+		}
+		return node;
+	}
+	
+	/**
+	 * Returns a cursor at the next higher key after a given cursor on this BST. Goes
+	 * down the right subtree if there is one, and up the parent links otherwise, so 
+	 * it takes time proportional to the height of this BST, and stepping through k
+	 * nodes takes O(k + height) time in all. Cursors returned by this and other methods
+	 * of this BST stay valid only until the next change to this BST.
+	 * 
+	 * @param cursor Cursor on this BST.
+	 * @return Cursor at next higher key, null if the given cursor is at the maximum key.
+	 * @throws NoSuchElementException If the cursor is not on this BST, or is no 
+	 * 								longer valid.
+	 */
+	public BSTCursor<T> successor(BSTCursor<T> cursor) {
+		return cursorAt(inOrderNext(nodeAt(cursor)));
+	}
+	
+	/**
+	 * Returns a cursor at the next lower key before a given cursor on this BST. Goes
+	 * down the left subtree if there is one, and up the parent links otherwise, so 
+	 * it takes time proportional to the height of this BST. It is the mirror image
+	 * of successor.
+	 * 
+	 * @param cursor Cursor on this BST.
+	 * @return Cursor at next lower key, null if the given cursor is at the minimum key.
+	 * @throws NoSuchElementException If the cursor is not on this BST, or is no 
+	 * 								longer valid.
+	 */
+	public BSTCursor<T> predecessor(BSTCursor<T> cursor) {
+		return cursorAt(inOrderPrev(nodeAt(cursor)));
+	}
+	
+	/**
+	 * Returns the inorder predecessor of a given node, the mirror image of inOrderNext.
+	 * 
+	 * @param node Node whose inorder predecessor is to be found.
+	 * @return Inorder predecessor, null if the given node is the first in inorder.
+	 */
+	static <T> BinaryTree<T> inOrderPrev(BinaryTree<T> node) {
+		if (node.left != null) {
+			return rightmost(node.left);
+		}
+		// climb until coming up from the right
+		BinaryTree<T> parent = node.parent;
+		while (parent != null && node == parent.left) {
+			node = parent;
+			parent = node.parent;
+		}
+		return parent;
+	}
+	
+	/**
+	 * Visits, in inorder, the nodes of this BST whose keys lie within a given range,
+	 * both ends included, calling the given visitor's visit method on each. Takes
+	 * time proportional to the height of this BST plus the number of nodes visited.
+	 * 
+	 * @param lo Low end of range.
+	 * @param hi High end of range.
+	 * @param visitor Visitor instance in which client-specific visit action is defined.
+	 */
+	public void range(T lo, T hi, Visitor<T> visitor) {
+		BinaryTree<T> node = nearestNode(lo, false, true);
+		while (node != null && node.data.compareTo(hi) <= 0) {
+			visitor.visit(node);
+			node = inOrderNext(node);
+		}
+	}
+	
+	/**
+	 * Creates a new, empty BST of the same kind as this one. Subclasses override this
+	 * method so that split returns a tree of their own kind.
+	 * 
+	 * @return New BST.
+	 */
+	protected BinarySearchTree<T> newTree() {
+		return new BinarySearchTree<T>();
+	}
+	
+	/**
+	 * Builds a perfectly balanced BST, in linear time, from given items that are in 
+	 * ascending order of keys. 
+	 * 
+	 * @param items Items in ascending order.
+	 * @return New BST holding the items.
+	 * @throws OrderViolationException If the items are not in strictly ascending order,
+	 * 								i.e. if they are out of order or there are duplicates.
+	 */
+	public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(T[] items) {
+		BinarySearchTree<T> bst = new BinarySearchTree<T>();
+		bst.load(checkSorted(items));
+		return bst;
+	}
+	
+	/**
+	 * Checks that given items are in strictly ascending order of keys.
+	 * 
+	 * @param items Items.
+	 * @return The items.
+	 * @throws OrderViolationException If the items are not in strictly ascending order.
+	 */
+	static <T extends Comparable<T>> T[] checkSorted(T[] items) {
+		for (int i=1; i < items.length; i++) {
+			if (items[i-1].compareTo(items[i]) >= 0) {
+				throw new OrderViolationException();
+			}
+		}
+		return items;
+	}
+	
+	/**
+	 * Replaces the contents of this BST with a perfectly balanced tree of given items,
+	 * which are in strictly ascending order.
+	 * 
+	 * @param items Items in ascending order.
+	 */
+	protected void load(Object[] items) {
+		tree = items.length == 0 ? newNode() : build(items, 0, items.length-1);
+		size = items.length;
+		modCount++;
+	}
+	
+	/**
+	 * Builds a perfectly balanced subtree of the items in a given range, with the middle
+	 * item at the root. Since children are attached before their parent is, every
+	 * attach takes constant time.
+	 * 
+	 * @param items Items in ascending order.
+	 * @param lo Index of first item.
+	 * @param hi Index of last item.
+	 * @return Root of subtree, null if the range is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	BinaryTree<T> build(Object[] items, int lo, int hi) {
+		if (lo > hi) {
+			return null;
+		}
+		int mid = (lo + hi) >>> 1;
+		BinaryTree<T> root = newNode();
+		root.makeRoot((T)items[mid]);
+		root.attachLeft(build(items, lo, mid-1));
+		root.attachRight(build(items, mid+1, hi));
+		rebalance(root);  // root has no parent yet, so this only updates root
+		return root;
+	}
+	
+	/**
+	 * Returns the items in this BST, in ascending order.
+	 * 
+	 * @return Array of items.
+	 */
+	Object[] toArray() {
+		Object[] items = new Object[size];
+		int i = 0;
+		for (T item : this) {
+			items[i++] = item;
+		}
+		return items;
+	}
+	
+	/**
+	 * Recomputes the sizes of a given node and its ancestors from the sizes of their
+	 * children.
+	 * 
+	 * @param node Node to start at.
+	 */
+	static <T> void resizeUp(BinaryTree<T> node) {
+		for (; node != null; node=node.parent) {
+			node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+		}
+	}
+	
+	/**
+	 * Splits this BST at a given key: items with keys greater than or equal to the key
+	 * are moved to a new BST, and the rest stay in this one. The nodes along the search
+	 * path for the key are cut and relinked into the two trees, and no others are 
+	 * touched, so this takes time proportional to the height of this BST.
+	 * 
+	 * @param key Key at which to split.
+	 * @return New BST with the items whose keys are >= key.
+	 */
+	public BinarySearchTree<T> split(T key) {
+		BinarySearchTree<T> upper = newTree();
+		if (tree.isEmpty()) {
+			return upper;
+		}
+		
+		// each path node goes to the lower tree, hanging off the right of the 
+		// last one there, or to the upper tree, hanging off the left
+		BinaryTree<T> lowRoot=null, lowTail=null, highRoot=null, highTail=null;
+		BinaryTree<T> node = tree;
+		while (node != null) {
+			BinaryTree<T> next;
+			if (node.data.compareTo(key) < 0) { // node and left subtree are lower
+				next = node.right;
+				node.right = null;
+				node.parent = lowTail;
+				if (lowTail == null) {
+					lowRoot = node;
+				} else {
+					lowTail.right = node;
+				}
+				lowTail = node;
+			} else { // node and right subtree are upper
+				next = node.left;
+				node.left = null;
+				node.parent = highTail;
+				if (highTail == null) {
+					highRoot = node;
+				} else {
+					highTail.left = node;
+				}
+				highTail = node;
+			}
+			node = next;
+		}
+		resizeUp(lowTail);
+		resizeUp(highTail);
+		
+		tree = lowRoot == null ? newNode() : lowRoot;
+		size = sizeOf(lowRoot);
+		modCount++;
+		if (highRoot != null) {
+			upper.tree = highRoot;
+			upper.size = highRoot.size;
+		}
+		return upper;
+	}
+	
+	/**
+	 * Joins two BSTs, where every key in the first is less than every key in the second,
+	 * by moving the items of the second into the first. The second BST is left empty.
+	 * 
+	 * @param left BST with the lower keys.
+	 * @param right BST with the higher keys.
+	 * @return The left BST, holding the items of both.
+	 * @throws OrderViolationException If the maximum key of left is not less than the
+	 * 								minimum key of right.
+	 */
+	public static <T extends Comparable<T>> BinarySearchTree<T> join(
+			BinarySearchTree<T> left, BinarySearchTree<T> right) {
+		if (left == right) {
+			throw new IllegalArgumentException("Cannot join a BST with itself");
+		}
+		if (!left.isEmpty() && !right.isEmpty() 
+				&& left.maxKey().compareTo(right.minKey()) >= 0) {
+			throw new OrderViolationException();
+		}
+		left.append(right);
+		return left;
+	}
+	
+	/**
+	 * Moves the items of a given BST, whose keys are all greater than the keys in this
+	 * BST, into this BST, leaving it empty. The maximum item of this BST is taken out
+	 * and made the root, with the two trees as its subtrees, so this takes time 
+	 * proportional to the height of this BST.
+	 * 
+	 * @param right BST with the higher keys.
+	 */
+	protected void append(BinarySearchTree<T> right) {
+		if (right.isEmpty()) {
+			return;
+		}
+		if (!isEmpty()) {
+			T max = maxKey();
+			delete(max);
+			BinaryTree<T> root = newNode();
+			root.makeRoot(max);
+			if (!isEmpty()) {
+				root.attachLeft(tree);
+			}
+			root.attachRight(right.tree);
+			tree = root;
+			size = root.size;
+		} else {
+			tree = right.tree;
+			size = right.size;
+		}
+		modCount++;
+		right.tree = right.newNode();
+		right.size = 0;
+		right.modCount++;
+	}
+	
 	/**
 	 * Implements a recursive preorder traversal on a binary (search) tree given
 	 * its root, calling the given visitor's visit method when a node is visited.
@@ -300,7 +933,34 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		if (tree.isEmpty()) {
 			return;
 		}
-		recursivePreOrder(tree, visitor);
+		// iterate with parent links instead of recursing, so the stack does not grow
+		BinaryTree<T> node = tree;
+		while (node != null) {
+			visitor.visit(node);
+			node = preOrderNext(node);
+		}
+	}
+	
+	/**
+	 * Returns the node that comes after a given node in preorder.
+	 * 
+	 * @param node Node in this BST.
+	 * @return Next node in preorder, null if there is none.
+	 */
+	static <T> BinaryTree<T> preOrderNext(BinaryTree<T> node) {
+		if (node.left != null) {
+			return node.left;
+		}
+		if (node.right != null) {
+			return node.right;
+		}
+		// climb until coming up from the left of a node that has a right subtree
+		BinaryTree<T> parent = node.parent;
+		while (parent != null && (node == parent.right || parent.right == null)) {
+			node = parent;
+			parent = node.parent;
+		}
+		return parent == null ? null : parent.right;
 	}
 	
 	/**
@@ -328,7 +988,46 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		if (tree.isEmpty()) {	
 			return;
 		}
-		recursiveInOrder(tree, visitor);
+		// iterate with parent links instead of recursing, so the stack does not grow
+		BinaryTree<T> node = leftmost(tree);
+		while (node != null) {
+			visitor.visit(node);
+			node = inOrderNext(node);
+		}
+	}
+	
+	/**
+	 * Returns the leftmost node of the subtree rooted at a given node, i.e. the first
+	 * node of the subtree in inorder.
+	 * 
+	 * @param node Root of subtree.
+	 * @return Leftmost node.
+	 */
+	static <T> BinaryTree<T> leftmost(BinaryTree<T> node) {
+		while (node.left != null) {
+			node = node.left;
+		}
+		return node;
+	}
+	
+	/**
+	 * Returns the node that comes after a given node in inorder, i.e. the node with
+	 * the next higher key.
+	 * 
+	 * @param node Node in this BST.
+	 * @return Next node in inorder, null if there is none.
+	 */
+	static <T> BinaryTree<T> inOrderNext(BinaryTree<T> node) {
+		if (node.right != null) {
+			return leftmost(node.right);
+		}
+		// climb until coming up from the left
+		BinaryTree<T> parent = node.parent;
+		while (parent != null && node == parent.right) {
+			node = parent;
+			parent = node.parent;
+		}
+		return parent;
 	}
 	
 	/**
@@ -356,6 +1055,87 @@ public class BinarySearchTree<T extends Comparable<T>> {
 		if (tree.isEmpty()) {
 			return;
 		}
-		recursivePostOrder(tree, visitor);
+		// iterate with parent links instead of recursing, so the stack does not grow
+		BinaryTree<T> node = firstPostOrder(tree);
+		while (node != null) {
+			BinaryTree<T> next = postOrderNext(node);  // before the visitor sees the node
+			visitor.visit(node);
+			node = next;
+		}
+	}
+	
+	/**
+	 * Returns the first node in postorder of the subtree rooted at a given node, which
+	 * is reached by going left whenever possible, and right otherwise, down to a leaf.
+	 * 
+	 * @param node Root of subtree.
+	 * @return First node in postorder.
+	 */
+	static <T> BinaryTree<T> firstPostOrder(BinaryTree<T> node) {
+		while (true) {
+			if (node.left != null) {
+				node = node.left;
+			} else if (node.right != null) {
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the node that comes after a given node in postorder.
+	 * 
+	 * @param node Node in this BST.
+	 * @return Next node in postorder, null if there is none.
+	 */
+	static <T> BinaryTree<T> postOrderNext(BinaryTree<T> node) {
+		BinaryTree<T> parent = node.parent;
+		if (parent == null) {
+			return null;
+		}
+		if (node == parent.left && parent.right != null) {
+			return firstPostOrder(parent.right);
+		}
+		return parent;
+	}
+	
+	/**
+	 * Returns an iterator over the items in this BST, in inorder, i.e. in ascending 
+	 * order of keys. The iterator steps along parent links, so a full traversal takes 
+	 * time linear in the size of this BST and constant extra space. Its remove( ) 
+	 * method deletes the last item returned from this BST. The BST must not be 
+	 * changed other than through the iterator while the iteration is in progress.
+	 * 
+	 * @return Iterator over the items in this BST.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			BinaryTree<T> nextNode = tree.isEmpty() ? null : leftmost(tree);
+			T last = null;
+			
+			public boolean hasNext() {
+				return nextNode != null;
+			}
+			
+			public T next() {
+				if (nextNode == null) {
+					throw new NoSuchElementException();
+				}
+				last = nextNode.data;
+				nextNode = inOrderNext(nextNode);
+				return last;
+			}
+			
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				// deleting moves items only within the left subtree of the deleted
+				// node, so the node holding the next item is unaffected
+				delete(last);
+				last = null;
+			}
+		};
 	}
 }
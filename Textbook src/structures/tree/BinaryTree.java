@@ -32,6 +32,13 @@ public class BinaryTree<T> {
 	 */
 	public BinaryTree<T> parent;
 	
+	/**
+	 * Number of nodes in the tree rooted at this node, kept up to date by makeRoot
+	 * and the attach and detach methods. Code that links nodes directly must keep it 
+	 * up to date itself.
+	 */
+	protected int size;
+	
 	/**
 	 * Initializes this binary tree to empty.
 	 */
@@ -40,6 +47,27 @@ public class BinaryTree<T> {
 		left = null;
 		right = null;
 		parent = null;
+		size = 0;
+	}
+	
+	/**
+	 * Adds a given amount to the size of this node and of all its ancestors.
+	 * 
+	 * @param delta Amount to be added, negative if nodes were taken away.
+	 */
+	protected void resize(int delta) {
+		for (BinaryTree<T> node=this; node != null; node=node.parent) {
+			node.size += delta;
+		}
+	}
+	
+	/**
+	 * Returns the number of nodes in the tree rooted at this node.
+	 * 
+	 * @return Number of nodes, 0 if this tree is empty.
+	 */
+	public int size() {
+		return size;
 	}
 	
 	/**
@@ -53,6 +81,7 @@ public class BinaryTree<T> {
 			throw new TreeViolationException();
 		}
 		this.data = data;
+		resize(1);
 	}
 	
 	/**
@@ -86,6 +115,7 @@ public class BinaryTree<T> {
 		if (tree != null) {
 			tree.parent = this;
 			left = tree;
+			resize(tree.size);
 		}
 	}
 	
@@ -102,6 +132,7 @@ public class BinaryTree<T> {
 		if (tree != null) {
 			tree.parent = this;
 			right = tree;
+			resize(tree.size);
 		}
 	}
 	
@@ -113,6 +144,9 @@ public class BinaryTree<T> {
 	public BinaryTree<T> detachLeft() {
 		BinaryTree<T> retleft = left;
 		left = null;
+		if (retleft != null) {
+			resize(-retleft.size);
+		}
 		return retleft;
 	}
 	
@@ -124,6 +158,9 @@ public class BinaryTree<T> {
 	public BinaryTree<T> detachRight() {
 		BinaryTree<T> retright = right;
 		right = null;
+		if (retright != null) {
+			resize(-retright.size);
+		}
 		return retright;
 	}
 	
@@ -138,13 +175,15 @@ public class BinaryTree<T> {
 	
 	/**
 	 * Empties this tree by removing all nodes including root. To start over,
-	 * the makeRoot method must be called.
+	 * the makeRoot method must be called. If this node has a parent, it should be
+	 * detached from it first, so that the sizes of its ancestors are kept up to date.
 	 */
 	public void clear() {
 		left = null;
 		right = null;
 		data = null;
 		parent = null;
+		size = 0;
 	}
 	
 	/**
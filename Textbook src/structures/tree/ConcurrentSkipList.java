@@ -0,0 +1,404 @@
+package structures.tree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import structures.linear.OrderViolationException;
+
+/**
+ * This class implements a generic ordered collection with the same search, insert and 
+ * delete methods as BinarySearchTree, for sharing among many threads where most of the
+ * operations are lookups. It is a skip list: a sorted linked list in which every node
+ * also has a random number of express links (one more with probability 1/2 each), so 
+ * that a search can skip ahead over many nodes at a time and takes O(log n) expected
+ * time, without any rebalancing. Duplicate keys are not permitted.
+ * <p>
+ * Reads (search, minKey, maxKey, floor, ceiling, iteration) take no locks. Writes 
+ * (insert, delete) hold a lock while they change links, one writer at a time, and
+ * every link is set in a way that a reader following links at the same time always
+ * finds a well-formed list: a new node is filled in before it is linked in, bottom
+ * level first, and a deleted node is marked as deleted before it is unlinked, top
+ * level first, keeping its own links so that a reader standing on it can move on. 
+ * A read sees every write that finished before the read started, and may or may
+ * not see writes that are still in progress.
+ * 
+ * @param <T> The type of data stored in the list, must implement
+ * 				Comparable<T> with the compareTo method.
+ */
+public class ConcurrentSkipList<T extends Comparable<T>> implements Iterable<T> {
+	
+	/**
+	 * Maximum number of levels of links.
+	 */
+	static final int MAX_LEVEL = 32;
+	
+	/**
+	 * A node of the skip list, with links at one or more levels.
+	 */
+	static class SkipNode<T> {
+		
+		/**
+		 * Item in this node, null for the head node.
+		 */
+		final T item;
+		
+		/**
+		 * Next node at every level of this node, level 0 being the plain sorted list.
+		 * The links are atomic references so that readers see them as soon as they
+		 * are set.
+		 */
+		final AtomicReferenceArray<SkipNode<T>> next;
+		
+		/**
+		 * Set when the item is deleted, before the node is unlinked.
+		 */
+		volatile boolean deleted;
+		
+		/**
+		 * Initializes a node with a given item and number of levels.
+		 * 
+		 * @param item Item to be stored.
+		 * @param levels Number of levels.
+		 */
+		SkipNode(T item, int levels) {
+			this.item = item;
+			next = new AtomicReferenceArray<SkipNode<T>>(levels);
+			deleted = false;
+		}
+	}
+	
+	/**
+	 * Head node, with links at all levels to the first node of each level.
+	 */
+	final SkipNode<T> head;
+	
+	/**
+	 * Number of levels in use, at least 1.
+	 */
+	volatile int levels;
+	
+	/**
+	 * Number of items in this list.
+	 */
+	volatile int size;
+	
+	/**
+	 * Lock held by writers.
+	 */
+	final ReentrantLock writeLock;
+	
+	/**
+	 * State of the random number generator for node levels, only used by writers.
+	 */
+	int seed;
+	
+	/**
+	 * Initializes this list to empty.
+	 */
+	public ConcurrentSkipList() {
+		head = new SkipNode<T>(null, MAX_LEVEL);
+		levels = 1;
+		size = 0;
+		writeLock = new ReentrantLock();
+		seed = (int)System.nanoTime() | 1;
+	}
+	
+	/**
+	 * Tells whether this list is empty or not.
+	 * 
+	 * @return True if this list is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Returns the number of items in this list.
+	 * 
+	 * @return Number of items in this list.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Allocates an array of nodes.
+	 * 
+	 * @param length Length of array.
+	 * @return Array of nodes, all null.
+	 */
+	@SuppressWarnings({"unchecked","rawtypes"})
+	static <T> SkipNode<T>[] newNodes(int length) {
+		return new SkipNode[length];
+	}
+	
+	/**
+	 * Returns the last node, at the bottom level, whose key is less than a given key,
+	 * and if asked for, records the last such node at every level, and the node after
+	 * it at the bottom level.
+	 * <p>
+	 * A reader must use the recorded next node, which is the one that was actually
+	 * compared against the key, instead of reading the link of the returned node again:
+	 * a writer may have linked in another node, with a smaller key, in the meantime.
+	 * 
+	 * @param key Key to compare against.
+	 * @param preds Array in which to record the node at each level, null if not needed.
+	 * @param succ Array in which to record, at index 0, the node after the returned
+	 * 			node at the bottom level (null if there is none), null if not needed.
+	 * @return Last node with a smaller key, the head node if there is none.
+	 */
+	SkipNode<T> findPredecessor(T key, SkipNode<T>[] preds, SkipNode<T>[] succ) {
+		SkipNode<T> x = head;
+		SkipNode<T> n = null;
+		for (int i=levels-1; i >= 0; i--) {
+			while ((n = x.next.get(i)) != null && n.item.compareTo(key) < 0) {
+				x = n;
+			}
+			if (preds != null) {
+				preds[i] = x;
+			}
+		}
+		if (succ != null) {
+			succ[0] = n;
+		}
+		return x;
+	}
+	
+	/**
+	 * Returns the first node at or after a given node, at the bottom level, whose item
+	 * has not been deleted.
+	 * 
+	 * @param n Node to start at.
+	 * @return First live node, null if there is none.
+	 */
+	static <T> SkipNode<T> live(SkipNode<T> n) {
+		while (n != null && n.deleted) {
+			n = n.next.get(0);
+		}
+		return n;
+	}
+	
+	/**
+	 * Searches this list for a given key, without locking.
+	 * 
+	 * @param key Key that is searched for.
+	 * @return Data entry in this list that matches the given key, null if no match is
+	 * 			found for the key in this list.
+	 */
+	public T search(T key) {
+		SkipNode<T>[] succ = newNodes(1);
+		findPredecessor(key, null, succ);
+		SkipNode<T> n = succ[0];
+		if (n != null && !n.deleted && n.item.compareTo(key) == 0) {
+			return n.item;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the item with the smallest key that is greater than or equal to a given
+	 * key, without locking.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Least item >= given key, null if there is none.
+	 */
+	public T ceiling(T key) {
+		SkipNode<T>[] succ = newNodes(1);
+		findPredecessor(key, null, succ);
+		SkipNode<T> n = live(succ[0]);
+		return n == null ? null : n.item;
+	}
+	
+	/**
+	 * Returns the item with the greatest key that is less than or equal to a given 
+	 * key, without locking.
+	 * 
+	 * @param key Key to compare against.
+	 * @return Greatest item <= given key, null if there is none.
+	 */
+	public T floor(T key) {
+		SkipNode<T>[] succ = newNodes(1);
+		while (true) {
+			SkipNode<T> x = findPredecessor(key, null, succ);
+			SkipNode<T> n = succ[0];
+			if (n != null && !n.deleted && n.item.compareTo(key) == 0) {
+				return n.item;
+			}
+			if (x == head) {
+				return null;
+			}
+			if (!x.deleted) {
+				return x.item;
+			}
+			// the predecessor was deleted under us, look again
+		}
+	}
+	
+	/**
+	 * Finds the minimum-valued key item in this list, without locking.
+	 * 
+	 * @return Item in this list that has the minimum of all key values.
+	 * @throws NoSuchElementException If this list is empty.
+	 */
+	public T minKey() {
+		SkipNode<T> n = live(head.next.get(0));
+		if (n == null) {
+			throw new NoSuchElementException();
+		}
+		return n.item;
+	}
+	
+	/**
+	 * Finds the maximum-valued key item in this list, without locking.
+	 * 
+	 * @return Item in this list that has the maximum of all key values.
+	 * @throws NoSuchElementException If this list is empty.
+	 */
+	public T maxKey() {
+		while (true) {
+			SkipNode<T> x = head;
+			for (int i=levels-1; i >= 0; i--) {
+				SkipNode<T> n;
+				while ((n = x.next.get(i)) != null) {
+					x = n;
+				}
+			}
+			if (x == head) {
+				throw new NoSuchElementException();
+			}
+			if (!x.deleted) {
+				return x.item;
+			}
+			// the last node was deleted under us, look again
+		}
+	}
+	
+	/**
+	 * Returns a random number of levels for a new node: 1 with probability 1/2, 2 with
+	 * probability 1/4, and so on. Must be called with the write lock held.
+	 * 
+	 * @return Number of levels.
+	 */
+	int randomLevels() {
+		// xorshift
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return Math.min(Integer.numberOfTrailingZeros(seed) + 1, MAX_LEVEL);
+	}
+	
+	/**
+	 * Inserts a given item into this list.
+	 * 
+	 * @param item Item to be inserted.
+	 * @throws OrderViolationException If there is already a key in this list that matches
+	 * 								this item, i.e. inserting would result in duplicate keys.
+	 */
+	public void insert(T item) {
+		SkipNode<T>[] preds = newNodes(MAX_LEVEL);
+		SkipNode<T>[] succ = newNodes(1);
+		writeLock.lock();
+		try {
+			findPredecessor(item, preds, succ);
+			SkipNode<T> n = succ[0];
+			if (n != null && n.item.compareTo(item) == 0) {
+				throw new OrderViolationException();
+			}
+			int lvl = randomLevels();
+			for (int i=levels; i < lvl; i++) {
+				preds[i] = head;
+			}
+			
+			// fill in the new node, then link it in from the bottom up
+			SkipNode<T> node = new SkipNode<T>(item, lvl);
+			for (int i=0; i < lvl; i++) {
+				node.next.set(i, preds[i].next.get(i));
+			}
+			for (int i=0; i < lvl; i++) {
+				preds[i].next.set(i, node);
+			}
+			if (lvl > levels) {
+				levels = lvl;
+			}
+			size++;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * Deletes from this list the item that matches the given key, and returns the item.
+	 * 
+	 * @param key Key of to-be-deleted item.
+	 * @return The deleted item.
+	 * @throws NoSuchElementException If there is no item in this list that matches the given key.
+	 */
+	public T delete(T key) {
+		SkipNode<T>[] preds = newNodes(MAX_LEVEL);
+		SkipNode<T>[] succ = newNodes(1);
+		writeLock.lock();
+		try {
+			findPredecessor(key, preds, succ);
+			SkipNode<T> n = succ[0];
+			if (n == null || n.item.compareTo(key) != 0) {
+				throw new NoSuchElementException();
+			}
+			
+			// mark, then unlink from the top down; n keeps its own links
+			n.deleted = true;
+			for (int i=n.next.length()-1; i >= 0; i--) {
+				preds[i].next.set(i, n.next.get(i));
+			}
+			int lvl = levels;
+			while (lvl > 1 && head.next.get(lvl-1) == null) {
+				lvl--;
+			}
+			levels = lvl;
+			size--;
+			return n.item;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns an iterator over the items in this list, in ascending order of keys. The
+	 * iterator takes no locks, and never fails because of changes made by other threads,
+	 * which it may or may not see. Its remove( ) method deletes the last item returned,
+	 * if it is still in this list.
+	 * 
+	 * @return Iterator over the items in this list.
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			SkipNode<T> nextNode = live(head.next.get(0));
+			T last = null;
+			
+			public boolean hasNext() {
+				return nextNode != null;
+			}
+			
+			public T next() {
+				if (nextNode == null) {
+					throw new NoSuchElementException();
+				}
+				last = nextNode.item;
+				nextNode = live(nextNode.next.get(0));
+				return last;
+			}
+			
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				try {
+					delete(last);
+				} catch (NoSuchElementException e) {
+					// already deleted by another thread
+				}
+				last = null;
+			}
+		};
+	}
+}
@@ -1,6 +1,8 @@
 package structures.tree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 /**
@@ -41,6 +43,33 @@ public class Heap<T extends Comparable<T>> {
 		cursor = -1;
 	}
 	
+	/**
+	 * Initializes a new instance with all the items of a given collection. The heap
+	 * is built bottom-up (Floyd's method), by sifting down every internal node from
+	 * the last one up to the root, which takes O(n) time instead of the O(n log n) of
+	 * adding the items one at a time.
+	 * 
+	 * @param items Items to be put in the heap.
+	 */
+	public Heap(Collection<? extends T> items) {
+		this.items = new ArrayList<T>(items);
+		cursor = -1;
+		for (int i=this.items.size()/2 - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+	}
+	
+	/**
+	 * Builds a heap of the items in a given array, in O(n) time. The array is not 
+	 * changed.
+	 * 
+	 * @param items Items to be put in the heap.
+	 * @return Heap of the items.
+	 */
+	public static <T extends Comparable<T>> Heap<T> heapify(T[] items) {
+		return new Heap<T>(Arrays.asList(items));
+	}
+	
 	/**
 	 * Sifts up the item at the given index.
 	 * 
@@ -91,6 +120,97 @@ public class Heap<T extends Comparable<T>> {
 		items.set(index, me);
 	}
 	
+	/**
+	 * Sifts down the item at a given index of an array that holds a heap in
+	 * its first size entries.
+	 * 
+	 * @param list Array.
+	 * @param index Index of item to be sifted down.
+	 * @param size Number of entries that are in the heap.
+	 */
+	static <T extends Comparable<T>> void siftDown(T[] list, int index, int size) {
+		T me = list[index];
+		int lindex = 2*index + 1;
+		while (lindex < size) {
+			int maxIndex = lindex;
+			int rindex = lindex + 1;
+			if (rindex < size && list[rindex].compareTo(list[lindex]) > 0) {
+				maxIndex = rindex;
+			}
+			if (list[maxIndex].compareTo(me) > 0) {
+				list[index] = list[maxIndex];
+				index = maxIndex;
+				lindex = 2*index + 1;
+			}
+			else break;
+		}
+		list[index] = me;
+	}
+	
+	/**
+	 * Sorts a given array in ascending order, in place, with heapsort. The array is
+	 * first made into a max heap bottom-up, then the maximum is repeatedly swapped 
+	 * to the end of the shrinking heap. Takes O(n log n) time and no extra space.
+	 * 
+	 * @param list Array to be sorted.
+	 */
+	public static <T extends Comparable<T>> void heapSort(T[] list) {
+		for (int i=list.length/2 - 1; i >= 0; i--) {
+			siftDown(list, i, list.length);
+		}
+		for (int last=list.length-1; last > 0; last--) {
+			T max = list[0];
+			list[0] = list[last];
+			list[last] = max;
+			siftDown(list, 0, last);
+		}
+	}
+	
+	/**
+	 * Sifts down the int at a given index of an array that holds a heap in
+	 * its first size entries.
+	 * 
+	 * @param list Array.
+	 * @param index Index of int to be sifted down.
+	 * @param size Number of entries that are in the heap.
+	 */
+	static void siftDown(int[] list, int index, int size) {
+		int me = list[index];
+		int lindex = 2*index + 1;
+		while (lindex < size) {
+			int maxIndex = lindex;
+			int rindex = lindex + 1;
+			if (rindex < size && list[rindex] > list[lindex]) {
+				maxIndex = rindex;
+			}
+			if (list[maxIndex] > me) {
+				list[index] = list[maxIndex];
+				index = maxIndex;
+				lindex = 2*index + 1;
+			}
+			else break;
+		}
+		list[index] = me;
+	}
+	
+	/**
+	 * Sorts a given array of ints in ascending order, in place, with heapsort. This
+	 * is the primitive specialization of heapSort(T[]), which does not box the ints.
+	 * 
+	 * @param list Array to be sorted.
+	 */
+	public static void heapSort(int[] list) {
+		for (int i=list.length/2 - 1; i >= 0; i--) {
+			siftDown(list, i, list.length);
+		}
+		for (int last=list.length-1; last > 0; last--) {
+			int max = list[0];
+			list[0] = list[last];
+			list[last] = max;
+			siftDown(list, 0, last);
+		}
+	}
+	
 	/**
 	 * Adds the given item to this heap.
 	 * 
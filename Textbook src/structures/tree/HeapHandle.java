@@ -0,0 +1,58 @@
+package structures.tree;
+
+/**
+ * This class implements the handles of an IndexedHeap. Handles are handed out by
+ * the heap when items are added, and keep track of where their item currently is
+ * in the heap, so that the item can be given a new priority or removed in O(log n)
+ * time, without searching for it.
+ * 
+ * @param <T> The type of objects stored in the heap.
+ */
+public class HeapHandle<T extends Comparable<T>> {
+	
+	/**
+	 * Data
+	 */
+	T data;
+	
+	/**
+	 * Index of this handle in the heap array.
+	 */
+	int index;
+	
+	/**
+	 * Heap that this handle is in, null once its item has been removed.
+	 */
+	IndexedHeap<T> owner;
+	
+	/**
+	 * Initializes handle with given data, index and owning heap.
+	 * 
+	 * @param dat Data
+	 * @param index Index in the heap array
+	 * @param heap Heap that the handle will be in
+	 */
+	HeapHandle(T dat, int index, IndexedHeap<T> heap) {
+		data = dat;
+		this.index = index;
+		owner = heap;
+	}
+	
+	/**
+	 * Returns the data at this handle.
+	 * 
+	 * @return Data at this handle.
+	 */
+	public T getData() {
+		return data;
+	}
+	
+	/**
+	 * Tells whether the item of this handle is still in a heap.
+	 * 
+	 * @return True if this handle is in a heap, false if its item has been removed.
+	 */
+	public boolean isInHeap() {
+		return owner != null;
+	}
+}
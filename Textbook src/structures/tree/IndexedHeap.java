@@ -0,0 +1,292 @@
+package structures.tree;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a generic max heap whose items can be updated in place.
+ * Adding an item returns a HeapHandle that tracks the position of the item in the
+ * heap as it is sifted up and down. The handle can later be used to raise or lower
+ * the priority of the item, or to remove it, in O(log n) time.
+ * <p>
+ * An item whose priority is changed by mutating it in place must be handed back
+ * with increaseKey or decreaseKey right away, before any other operation on the
+ * heap, so that the heap can restore its order.
+ * 
+ * @param <T> Type of data stored in the heap, must implement method compareTo of
+ * 				generic Comparable<T> interface, to compare priorities.
+ */
+public class IndexedHeap<T extends Comparable<T>> {
+	
+	/**
+	 * Stores the heap handles, in heap order of their items.
+	 */
+	ArrayList<HeapHandle<T>> items;
+	
+	/**
+	 * Maintains iteration point. 
+	 */
+	int cursor;
+	
+	/**
+	 * Initializes a new instance by setting up storage of given capacity.
+	 * 
+	 * @param cap Initial storage capacity.
+	 */
+	public IndexedHeap(int cap) {
+		items = new ArrayList<HeapHandle<T>>(cap);
+		cursor = -1;
+	}
+	
+	/**
+	 * Initializes a new instance by setting up storage of default initial capacity. 
+	 */
+	public IndexedHeap() {
+		items = new ArrayList<HeapHandle<T>>();
+		cursor = -1;
+	}
+	
+	/**
+	 * Puts a handle at a given index, and records the index in the handle.
+	 * 
+	 * @param index Index in the heap array.
+	 * @param handle Handle to be put there.
+	 */
+	void place(int index, HeapHandle<T> handle) {
+		items.set(index, handle);
+		handle.index = index;
+	}
+	
+	/**
+	 * Sifts up the item at the given index.
+	 * 
+	 * @param index Index of item to be sifted up.
+	 */
+	void siftUp(int index) {
+		HeapHandle<T> me = items.get(index);
+		while (index > 0) {
+			int pindex = (index-1) / 2;
+			HeapHandle<T> myparent = items.get(pindex);
+			if (me.data.compareTo(myparent.data) > 0) {
+				place(index, myparent);
+				index = pindex;
+			}
+			else break;
+		}
+		place(index, me);
+	}
+	
+	/**
+	 * Sifts down the item at the given index.
+	 * 
+	 * @param index Index of item to be sifted down.
+	 */
+	void siftDown(int index) {
+		HeapHandle<T> me = items.get(index);
+		int lindex = 2*index + 1;
+		while (lindex < items.size()) {
+			HeapHandle<T> maxChild = items.get(lindex);
+			int maxIndex = lindex;
+			
+			int rindex = lindex + 1;
+			if (rindex < items.size()) {
+				HeapHandle<T> rightChild = items.get(rindex);
+				if (rightChild.data.compareTo(maxChild.data) > 0) {
+					maxChild = rightChild;
+					maxIndex = rindex;
+				}
+			}
+			
+			if (maxChild.data.compareTo(me.data) > 0) {
+				place(index, maxChild);
+				index = maxIndex;
+				lindex = 2*index + 1;
+			}
+			else break;
+		}
+		place(index, me);
+	}
+	
+	/**
+	 * Adds the given item to this heap.
+	 * 
+	 * @param item Item to be added.
+	 * @return The handle of the item, which may be used to update or remove it.
+	 */
+	public HeapHandle<T> add(T item) {
+		HeapHandle<T> handle = new HeapHandle<T>(item, items.size(), this);
+		items.add(handle);
+		siftUp(handle.index);
+		return handle;
+	}
+	
+	/**
+	 * Returns the maximum-priority (top) item of this heap, without removing it.
+	 * 
+	 * @return Top item.
+	 * @throws NoSuchElementException If this heap is empty.
+	 */
+	public T max() {
+		if (items.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return items.get(0).data;
+	}
+	
+	/**
+	 * Removes the maximum-priority (top) item of this heap.
+	 * 
+	 * @return Removed item.
+	 * @throws NoSuchElementException If this heap is empty.
+	 */
+	public T deleteMax() {
+		if (items.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return remove(items.get(0));
+	}
+	
+	/**
+	 * Removes the item of a given handle from this heap.
+	 * 
+	 * @param handle Handle of item to be removed, as returned by add.
+	 * @return Removed item.
+	 * @throws NoSuchElementException If the handle is not in this heap, e.g. because 
+	 *         its item has already been removed.
+	 */
+	public T remove(HeapHandle<T> handle) {
+		if (!contains(handle)) {
+			throw new NoSuchElementException();
+		}
+		int index = handle.index;
+		HeapHandle<T> last = items.remove(items.size()-1);
+		handle.owner = null;
+		handle.index = -1;
+		
+		if (last == handle) { // was the last item, no gap to fill
+			return handle.data;
+		}
+		
+		// move last item to the vacant spot, and sift it whichever way it has to go 
+		place(index, last);
+		if (index > 0 && last.data.compareTo(items.get((index-1) / 2).data) > 0) {
+			siftUp(index);
+		} else {
+			siftDown(index);
+		}
+		return handle.data;
+	}
+	
+	/**
+	 * Replaces the item of a given handle with an item of equal or higher priority,
+	 * and moves it up in this heap as needed. The new item may be the old one, after 
+	 * its priority has been raised in place.
+	 * 
+	 * @param handle Handle of item.
+	 * @param item New item.
+	 * @throws NoSuchElementException If the handle is not in this heap.
+	 * @throws IllegalArgumentException If the new item has lower priority than the old.
+	 */
+	public void increaseKey(HeapHandle<T> handle, T item) {
+		if (!contains(handle)) {
+			throw new NoSuchElementException();
+		}
+		if (item.compareTo(handle.data) < 0) {
+			throw new IllegalArgumentException("lower priority");
+		}
+		handle.data = item;
+		siftUp(handle.index);
+	}
+	
+	/**
+	 * Replaces the item of a given handle with an item of equal or lower priority,
+	 * and moves it down in this heap as needed. The new item may be the old one, after 
+	 * its priority has been lowered in place.
+	 * 
+	 * @param handle Handle of item.
+	 * @param item New item.
+	 * @throws NoSuchElementException If the handle is not in this heap.
+	 * @throws IllegalArgumentException If the new item has higher priority than the old.
+	 */
+	public void decreaseKey(HeapHandle<T> handle, T item) {
+		if (!contains(handle)) {
+			throw new NoSuchElementException();
+		}
+		if (item.compareTo(handle.data) > 0) {
+			throw new IllegalArgumentException("higher priority");
+		}
+		handle.data = item;
+		siftDown(handle.index);
+	}
+	
+	/**
+	 * Tells whether the item of a given handle is in this heap.
+	 * 
+	 * @param handle Handle of item.
+	 * @return True if the handle is in this heap, false otherwise.
+	 */
+	public boolean contains(HeapHandle<T> handle) {
+		return handle != null && handle.owner == this;
+	}
+	
+	/**
+	 * Empties this heap by removing all items. Handles of the removed items are
+	 * no longer in this heap.
+	 */
+	public void clear() {
+		for (int i=0; i < items.size(); i++) {
+			HeapHandle<T> handle = items.get(i);
+			handle.owner = null;
+			handle.index = -1;
+		}
+		items.clear();
+	}
+	
+	/**
+	 * Returns the number of items in this heap.
+	 * 
+	 * @return Number of items in this heap.
+	 */
+	public int size() {
+		return items.size();
+	}
+	
+	/**
+	 * Tells whether this heap is empty or not.
+	 * 
+	 * @return True if this heap is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return items.isEmpty();
+	}
+	
+	/**
+	 * Returns the first item in this heap, and sets the iteration cursor to the 
+	 * first position. 
+	 * 
+	 * @return First item in this heap, null if heap is empty.
+	 */
+	public T first() {
+		if (items.size() == 0) return null;
+		cursor = 0;
+		return items.get(cursor).data;
+	}
+	
+	/**
+	 * Sets the cursor to the next position, and returns the item in this heap at
+	 * that position. <br> To iterate over this heap, there
+	 * must be a call to first( ), followed by successive calls to next( ). Iteration
+	 * is in level-order sequence.
+	 * 
+	 * @return Next item in this heap. Null if heap is empty, or cursor is at the 
+	 *         end of the heap at the time this method is called, i.e. end of heap was
+	 *         reached. 
+	 */
+	public T next() {
+		if (cursor < 0 || cursor >= (items.size()-1)) {
+			return null;
+		}
+		cursor++;
+		return items.get(cursor).data;
+	}
+}
@@ -0,0 +1,297 @@
+package structures.tree;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import structures.linear.OrderViolationException;
+
+/**
+ * This class implements a simple (not balanced) binary search tree of primitive int
+ * keys, packed into a TreeArena. It is the int specialization of BinarySearchTree:
+ * keys are stored in an int array parallel to the link arrays of the arena, so neither
+ * the keys nor the nodes are objects. The arena is private to this BST, so nodes can
+ * only be made and linked by its own operations. Duplicate keys are not permitted.
+ */
+public class IntBinarySearchTree {
+	
+	/**
+	 * Index that stands for no node.
+	 */
+	static final int NIL = TreeArena.NIL;
+	
+	/**
+	 * Nodes of this BST.
+	 */
+	private TreeArena nodes;
+	
+	/**
+	 * Key at every node.
+	 */
+	private int[] keys;
+	
+	/**
+	 * Root node, NIL if this BST is empty.
+	 */
+	private int root;
+	
+	/**
+	 * Initializes this BST instance to empty.
+	 */
+	public IntBinarySearchTree() {
+		this(16);
+	}
+	
+	/**
+	 * Initializes this BST instance to empty, with room for a given number of keys
+	 * before its arrays have to grow.
+	 * 
+	 * @param cap Initial capacity.
+	 */
+	public IntBinarySearchTree(int cap) {
+		nodes = new TreeArena(cap);
+		keys = new int[nodes.capacity()];
+		root = NIL;
+	}
+	
+	/**
+	 * Creates a new node with a given key, growing the key array along with the
+	 * arena if needed.
+	 * 
+	 * @param key Key of the new node.
+	 * @return The new node.
+	 */
+	int newNode(int key) {
+		int n = nodes.newNode();
+		if (keys.length < nodes.capacity()) {
+			keys = Arrays.copyOf(keys, nodes.capacity());
+		}
+		keys[n] = key;
+		return n;
+	}
+	
+	/**
+	 * Builds a perfectly balanced BST, in linear time, from given keys that are in 
+	 * ascending order.
+	 * 
+	 * @param sorted Keys in ascending order.
+	 * @return New BST holding the keys.
+	 * @throws OrderViolationException If the keys are not in strictly ascending order.
+	 */
+	public static IntBinarySearchTree fromSorted(int[] sorted) {
+		for (int i=1; i < sorted.length; i++) {
+			if (sorted[i-1] >= sorted[i]) {
+				throw new OrderViolationException();
+			}
+		}
+		IntBinarySearchTree bst = new IntBinarySearchTree(sorted.length);
+		bst.root = bst.build(sorted, 0, sorted.length-1);
+		return bst;
+	}
+	
+	/**
+	 * Builds a perfectly balanced subtree of the keys in a given range, with the middle
+	 * key at the root. 
+	 * 
+	 * @param sorted Keys in ascending order.
+	 * @param lo Index of first key.
+	 * @param hi Index of last key.
+	 * @return Root of subtree, NIL if the range is empty.
+	 */
+	int build(int[] sorted, int lo, int hi) {
+		if (lo > hi) {
+			return NIL;
+		}
+		int mid = (lo + hi) >>> 1;
+		int n = newNode(sorted[mid]);
+		nodes.attachLeft(n, build(sorted, lo, mid-1));
+		nodes.attachRight(n, build(sorted, mid+1, hi));
+		return n;
+	}
+	
+	/**
+	 * Tells whether this BST is empty or not.
+	 * 
+	 * @return True if this BST is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return root == NIL;
+	}
+	
+	/**
+	 * Returns the number of keys in this BST.
+	 * 
+	 * @return Number of keys.
+	 */
+	public int size() {
+		return nodes.count;
+	}
+	
+	/**
+	 * Returns the node that holds a given key.
+	 * 
+	 * @param key Key that is searched for.
+	 * @return Node with the key, NIL if the key is not in this BST.
+	 */
+	int find(int key) {
+		int n = root;
+		while (n != NIL && keys[n] != key) {
+			n = key < keys[n] ? nodes.left[n] : nodes.right[n];
+		}
+		return n;
+	}
+	
+	/**
+	 * Tells whether this BST contains a given key.
+	 * 
+	 * @param key Key that is searched for.
+	 * @return True if the key is in this BST, false otherwise.
+	 */
+	public boolean contains(int key) {
+		return find(key) != NIL;
+	}
+	
+	/**
+	 * Inserts a given key into this BST.
+	 * 
+	 * @param key Key to be inserted.
+	 * @throws OrderViolationException If the key is already in this BST.
+	 */
+	public void insert(int key) {
+		if (root == NIL) {
+			root = newNode(key);
+			return;
+		}
+		
+		// do an iterative descent
+		int n = root;
+		while (true) {
+			if (key == keys[n]) { // duplicate found, cannot be inserted
+				throw new OrderViolationException();
+			}
+			int next = key < keys[n] ? nodes.left[n] : nodes.right[n];
+			if (next == NIL) {
+				break;
+			}
+			n = next;
+		}
+		int node = newNode(key);
+		if (key < keys[n]) {
+			nodes.attachLeft(n, node);
+		} else {
+			nodes.attachRight(n, node);
+		}
+	}
+	
+	/**
+	 * Deletes a given key from this BST.
+	 * 
+	 * @param key Key to be deleted.
+	 * @throws NoSuchElementException If the key is not in this BST.
+	 */
+	public void delete(int key) {
+		int n = find(key);
+		if (n == NIL) {
+			throw new NoSuchElementException();
+		}
+		
+		// two subtrees: take the key of the inorder predecessor, and delete that node
+		if (nodes.left[n] != NIL && nodes.right[n] != NIL) {
+			int pred = nodes.left[n];
+			while (nodes.right[pred] != NIL) {
+				pred = nodes.right[pred];
+			}
+			keys[n] = keys[pred];
+			n = pred;
+		}
+		
+		// at most one subtree: link it to the parent in place of n
+		int child = nodes.left[n] != NIL ? nodes.left[n] : nodes.right[n];
+		int p = nodes.parent[n];
+		if (child != NIL) {
+			nodes.parent[child] = p;
+		}
+		if (p == NIL) {
+			root = child;
+		} else if (nodes.left[p] == n) {
+			nodes.left[p] = child;
+		} else {
+			nodes.right[p] = child;
+		}
+		nodes.freeNode(n);
+	}
+	
+	/**
+	 * Finds the minimum key in this BST.
+	 * 
+	 * @return Minimum key.
+	 * @throws NoSuchElementException If this BST is empty.
+	 */
+	public int minKey() {
+		if (root == NIL) {
+			throw new NoSuchElementException();
+		}
+		int n = root;
+		while (nodes.left[n] != NIL) {
+			n = nodes.left[n];
+		}
+		return keys[n];
+	}
+	
+	/**
+	 * Finds the maximum key in this BST.
+	 * 
+	 * @return Maximum key.
+	 * @throws NoSuchElementException If this BST is empty.
+	 */
+	public int maxKey() {
+		if (root == NIL) {
+			throw new NoSuchElementException();
+		}
+		int n = root;
+		while (nodes.right[n] != NIL) {
+			n = nodes.right[n];
+		}
+		return keys[n];
+	}
+	
+	/**
+	 * Empties this BST by removing all keys.
+	 */
+	public void clear() {
+		nodes.clear();
+		root = NIL;
+	}
+	
+	/**
+	 * Returns the keys in this BST in ascending order, by an inorder traversal that
+	 * steps along parent links.
+	 * 
+	 * @return Array of keys.
+	 */
+	public int[] toArray() {
+		int[] result = new int[nodes.count];
+		if (root == NIL) {
+			return result;
+		}
+		int n = root;
+		while (nodes.left[n] != NIL) {
+			n = nodes.left[n];
+		}
+		for (int i=0; n != NIL; i++) {
+			result[i] = keys[n];
+			if (nodes.right[n] != NIL) { // leftmost node of right subtree
+				n = nodes.right[n];
+				while (nodes.left[n] != NIL) {
+					n = nodes.left[n];
+				}
+			} else { // climb until coming up from the left
+				int p = nodes.parent[n];
+				while (p != NIL && n == nodes.right[p]) {
+					n = p;
+					p = nodes.parent[n];
+				}
+				n = p;
+			}
+		}
+		return result;
+	}
+}
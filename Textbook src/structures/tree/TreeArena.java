@@ -0,0 +1,268 @@
+package structures.tree;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the structure of binary trees whose nodes are packed into
+ * arrays instead of being separate objects. A node is an int index; its left child,
+ * right child and parent are kept in three parallel int arrays, with NIL for a missing
+ * link. The data at the nodes is kept by the user of the arena in arrays of its own,
+ * indexed the same way, so that numeric data can be stored in primitive arrays. 
+ * Subclasses that keep such arrays override grow( ) to grow them along with the links.
+ * <p>
+ * Since nodes are not objects, building a tree of n nodes allocates a handful of 
+ * arrays instead of n objects, there is nothing for the garbage collector to trace
+ * inside the tree, and nodes that are created together sit next to each other in
+ * memory. Freed nodes are put on a free list and reused by later newNode( ) calls.
+ * An arena may hold any number of separate trees.
+ */
+public class TreeArena {
+	
+	/**
+	 * Index that stands for no node.
+	 */
+	public static final int NIL = -1;
+	
+	/**
+	 * Left child of every node.
+	 */
+	int[] left;
+	
+	/**
+	 * Right child of every node. For a free node, the next free node.
+	 */
+	int[] right;
+	
+	/**
+	 * Parent of every node.
+	 */
+	int[] parent;
+	
+	/**
+	 * Number of indexes that have ever been handed out; nodes at these indexes are
+	 * either in use or on the free list.
+	 */
+	int used;
+	
+	/**
+	 * Number of nodes in use.
+	 */
+	int count;
+	
+	/**
+	 * First node on the free list, NIL if the list is empty.
+	 */
+	int free;
+	
+	/**
+	 * Initializes this arena with no nodes and room for a given number of nodes
+	 * before its arrays have to grow.
+	 * 
+	 * @param cap Initial capacity.
+	 */
+	public TreeArena(int cap) {
+		if (cap < 1) {
+			cap = 1;
+		}
+		left = new int[cap];
+		right = new int[cap];
+		parent = new int[cap];
+		used = 0;
+		count = 0;
+		free = NIL;
+	}
+	
+	/**
+	 * Grows the arrays of this arena to a given capacity. Subclasses that keep data
+	 * arrays override this method to grow them as well, and call it.
+	 * 
+	 * @param cap New capacity, greater than the current capacity.
+	 */
+	protected void grow(int cap) {
+		left = Arrays.copyOf(left, cap);
+		right = Arrays.copyOf(right, cap);
+		parent = Arrays.copyOf(parent, cap);
+	}
+	
+	/**
+	 * Returns the number of nodes this arena can hold before its arrays have to grow.
+	 * 
+	 * @return Capacity.
+	 */
+	public int capacity() {
+		return left.length;
+	}
+	
+	/**
+	 * Returns the number of nodes in use in this arena.
+	 * 
+	 * @return Number of nodes in use.
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Creates a new node with no children and no parent, reusing a freed node if 
+	 * there is one.
+	 * 
+	 * @return The new node.
+	 */
+	public int newNode() {
+		int n;
+		if (free != NIL) {
+			n = free;
+			free = right[n];
+		} else {
+			if (used == left.length) {
+				grow(Math.max(2*left.length, 16));
+			}
+			n = used++;
+		}
+		left[n] = NIL;
+		right[n] = NIL;
+		parent[n] = NIL;
+		count++;
+		return n;
+	}
+	
+	/**
+	 * Frees a node so that it can be reused. The node must have been detached from
+	 * its parent and children, or be the last reference to its part of a tree.
+	 * 
+	 * @param n Node to be freed.
+	 */
+	public void freeNode(int n) {
+		left[n] = NIL;
+		parent[n] = NIL;
+		right[n] = free;
+		free = n;
+		count--;
+	}
+	
+	/**
+	 * Frees all nodes of this arena at once, keeping its capacity.
+	 */
+	public void clear() {
+		used = 0;
+		count = 0;
+		free = NIL;
+	}
+	
+	/**
+	 * Returns the left child of a given node.
+	 * 
+	 * @param n Node.
+	 * @return Left child, NIL if there is none.
+	 */
+	public int left(int n) {
+		return left[n];
+	}
+	
+	/**
+	 * Returns the right child of a given node.
+	 * 
+	 * @param n Node.
+	 * @return Right child, NIL if there is none.
+	 */
+	public int right(int n) {
+		return right[n];
+	}
+	
+	/**
+	 * Returns the parent of a given node.
+	 * 
+	 * @param n Node.
+	 * @return Parent, NIL if the node is a root.
+	 */
+	public int parent(int n) {
+		return parent[n];
+	}
+	
+	/**
+	 * Tells whether a given node is a leaf, i.e. has no children.
+	 * 
+	 * @param n Node.
+	 * @return True if the node is a leaf, false otherwise.
+	 */
+	public boolean isLeaf(int n) {
+		return left[n] == NIL && right[n] == NIL;
+	}
+	
+	/**
+	 * Attaches a given node (root of a tree) as the left child of another node.
+	 * 
+	 * @param n Node to attach to.
+	 * @param child Node to be attached, NIL to attach nothing.
+	 * @throws TreeViolationException If n already has a left child.
+	 */
+	public void attachLeft(int n, int child) {
+		if (left[n] != NIL) {
+			throw new TreeViolationException();
+		}
+		if (child != NIL) {
+			left[n] = child;
+			parent[child] = n;
+		}
+	}
+	
+	/**
+	 * Attaches a given node (root of a tree) as the right child of another node.
+	 * 
+	 * @param n Node to attach to.
+	 * @param child Node to be attached, NIL to attach nothing.
+	 * @throws TreeViolationException If n already has a right child.
+	 */
+	public void attachRight(int n, int child) {
+		if (right[n] != NIL) {
+			throw new TreeViolationException();
+		}
+		if (child != NIL) {
+			right[n] = child;
+			parent[child] = n;
+		}
+	}
+	
+	/**
+	 * Detaches and returns the left child of a given node.
+	 * 
+	 * @param n Node.
+	 * @return Left child that was detached, NIL if there was none.
+	 */
+	public int detachLeft(int n) {
+		int child = left[n];
+		left[n] = NIL;
+		if (child != NIL) {
+			parent[child] = NIL;
+		}
+		return child;
+	}
+	
+	/**
+	 * Detaches and returns the right child of a given node.
+	 * 
+	 * @param n Node.
+	 * @return Right child that was detached, NIL if there was none.
+	 */
+	public int detachRight(int n) {
+		int child = right[n];
+		right[n] = NIL;
+		if (child != NIL) {
+			parent[child] = NIL;
+		}
+		return child;
+	}
+	
+	/**
+	 * Returns the root of the tree that contains a given node.
+	 * 
+	 * @param n Node.
+	 * @return Root of the tree.
+	 */
+	public int root(int n) {
+		while (parent[n] != NIL) {
+			n = parent[n];
+		}
+		return n;
+	}
+}